@@ -1,9 +1,8 @@
-package ru.practicum.shareit.server.booking.dto;
+package ru.practicum.shareit.api.booking.dto;
 
 import lombok.Data;
-
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 
 @Data
 public class BookingDto {
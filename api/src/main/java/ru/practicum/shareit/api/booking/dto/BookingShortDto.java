@@ -1,4 +1,4 @@
-package ru.practicum.shareit.server.booking.dto;
+package ru.practicum.shareit.api.booking.dto;
 
 import lombok.Data;
 
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.api.booking.dto;
+
+import lombok.Data;
+
+@Data
+public class BookingSummaryDto {
+    private long all;
+    private long waiting;
+    private long rejected;
+    private long current;
+    private long future;
+    private long past;
+}
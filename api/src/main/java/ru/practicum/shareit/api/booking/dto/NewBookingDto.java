@@ -1,4 +1,4 @@
-package ru.practicum.shareit.gateway.booking.dto;
+package ru.practicum.shareit.api.booking.dto;
 
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.FutureOrPresent;
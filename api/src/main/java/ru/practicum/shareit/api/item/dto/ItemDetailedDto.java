@@ -1,7 +1,7 @@
-package ru.practicum.shareit.server.item.dto;
+package ru.practicum.shareit.api.item.dto;
 
 import lombok.Data;
-import ru.practicum.shareit.server.booking.dto.BookingShortDto;
+import ru.practicum.shareit.api.booking.dto.BookingShortDto;
 
 import java.util.List;
 
@@ -1,4 +1,4 @@
-package ru.practicum.shareit.gateway.item.dto;
+package ru.practicum.shareit.api.item.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
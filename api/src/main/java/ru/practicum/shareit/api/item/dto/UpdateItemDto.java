@@ -1,9 +1,11 @@
-package ru.practicum.shareit.server.item.dto;
+package ru.practicum.shareit.api.item.dto;
 
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
 @Data
 public class UpdateItemDto {
+    @Pattern(regexp = "(?!\\s*$).+", message = "Новое имя не может быть пустым или состоять только из пробелов")
     private String name;
     private String description;
     private Boolean available;
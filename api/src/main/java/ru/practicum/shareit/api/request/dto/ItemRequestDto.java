@@ -1,8 +1,7 @@
-package ru.practicum.shareit.server.request.dto;
+package ru.practicum.shareit.api.request.dto;
 
 import lombok.Data;
-
-import ru.practicum.shareit.server.item.dto.ItemShortDto;
+import ru.practicum.shareit.api.item.dto.ItemShortDto;
 
 import java.util.List;
 
@@ -1,4 +1,4 @@
-package ru.practicum.shareit.gateway.request.dto;
+package ru.practicum.shareit.api.request.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
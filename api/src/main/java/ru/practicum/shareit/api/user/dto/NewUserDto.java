@@ -1,4 +1,4 @@
-package ru.practicum.shareit.gateway.user.dto;
+package ru.practicum.shareit.api.user.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
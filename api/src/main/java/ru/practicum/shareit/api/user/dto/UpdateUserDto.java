@@ -1,4 +1,4 @@
-package ru.practicum.shareit.gateway.user.dto;
+package ru.practicum.shareit.api.user.dto;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Pattern;
@@ -11,4 +11,12 @@ public class UpdateUserDto {
     @Pattern(regexp = "^\\S+$", message = "Новая электронная почта не может быть пустой или содержать пробелы")
     @Email(message = "Новая электронная почта не соответствует формату")
     private String email;
+
+    public boolean hasName() {
+        return name != null;
+    }
+
+    public boolean hasEmail() {
+        return email != null;
+    }
 }
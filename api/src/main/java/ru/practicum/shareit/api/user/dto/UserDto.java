@@ -1,4 +1,4 @@
-package ru.practicum.shareit.server.user.dto;
+package ru.practicum.shareit.api.user.dto;
 
 import lombok.Data;
 
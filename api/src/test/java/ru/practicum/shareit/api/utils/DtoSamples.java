@@ -0,0 +1,102 @@
+package ru.practicum.shareit.api.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+// Все DTO пакета, заполненные случайными значениями, — для проверок формата обмена
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DtoSamples {
+    private static final Random random = new Random();
+
+    public static List<Class<?>> findDtoClasses(String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile(".*\\.dto\\.[^.]+")));
+
+        return scanner.findCandidateComponents(basePackage).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .<Class<?>>map(name -> ClassUtils.resolveClassName(name, DtoSamples.class.getClassLoader()))
+                .toList();
+    }
+
+    public static Object create(Class<?> type) {
+        try {
+            Object dto = type.getDeclaredConstructor().newInstance();
+
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                field.set(dto, value(field.getGenericType()));
+            }
+
+            return dto;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось заполнить " + type.getName(), e);
+        }
+    }
+
+    private static Object value(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Type[] arguments = parameterized.getActualTypeArguments();
+
+            if (parameterized.getRawType() == List.class) {
+                return List.of(value(arguments[0]), value(arguments[0]));
+            }
+            if (parameterized.getRawType() == Map.class) {
+                return Map.of(createName(), value(arguments[1]));
+            }
+            throw new IllegalArgumentException("Неизвестный тип поля DTO: " + type);
+        }
+
+        Class<?> raw = (Class<?>) type;
+
+        if (raw == Integer.class || raw == int.class) {
+            return random.nextInt(1000);
+        }
+        if (raw == Long.class || raw == long.class) {
+            return (long) random.nextInt(1000);
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return random.nextBoolean();
+        }
+        if (raw == String.class) {
+            return createName() + " Ёжик";
+        }
+        if (raw == LocalDateTime.class) {
+            return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(random.nextInt(10));
+        }
+        if (raw.isEnum()) {
+            Object[] constants = raw.getEnumConstants();
+            return constants[random.nextInt(constants.length)];
+        }
+
+        return create(raw);
+    }
+
+    private static String createName() {
+        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        StringBuilder name = new StringBuilder();
+
+        for (int i = 0; i < 10; i++) {
+            name.append(chars.charAt(random.nextInt(chars.length())));
+        }
+
+        return name.toString();
+    }
+}
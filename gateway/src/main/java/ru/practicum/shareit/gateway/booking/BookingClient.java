@@ -3,13 +3,17 @@ package ru.practicum.shareit.gateway.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
-import ru.practicum.shareit.gateway.booking.dto.NewBookingDto;
-import ru.practicum.shareit.gateway.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.model.BookingState;
 import ru.practicum.shareit.gateway.client.BaseClient;
+import ru.practicum.shareit.gateway.client.UpstreamGuardFactory;
 
 import java.util.Map;
 
@@ -18,17 +22,18 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         UpstreamGuardFactory guards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .build(),
+                guards.create("bookings")
         );
     }
 
     public ResponseEntity<Object> createBooking(int bookerId, NewBookingDto request) {
-        return post("", bookerId, request);
+        return post("", bookerId, request, BookingDto.class);
     }
 
     public ResponseEntity<Object> changeBookingStatus(int userId, int bookingId, boolean approved) {
@@ -36,11 +41,11 @@ public class BookingClient extends BaseClient {
                 "approved", approved
         );
 
-        return patch("/" + bookingId + "?approved={approved}", userId, params, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, params, null, BookingDto.class);
     }
 
     public ResponseEntity<Object> getBooking(int userId, int bookingId) {
-        return get("/" + bookingId, userId);
+        return get("/" + bookingId, userId, BookingDto.class);
     }
 
     public ResponseEntity<Object> getAllBookersBookings(int userId, BookingState state) {
@@ -48,7 +53,7 @@ public class BookingClient extends BaseClient {
                 "state", state.name()
         );
 
-        return get("?state={state}", userId, params);
+        return get("?state={state}", userId, params, BookingDto[].class);
     }
 
     public ResponseEntity<Object> getAllOwnersBookings(int userId, BookingState state) {
@@ -56,6 +61,14 @@ public class BookingClient extends BaseClient {
                 "state", state.name()
         );
 
-        return get("/owner?state={state}", userId, params);
+        return get("/owner?state={state}", userId, params, BookingDto[].class);
+    }
+
+    public ResponseEntity<Object> getOwnersSummary(int userId) {
+        return get("/owner/summary", userId, BookingSummaryDto.class);
+    }
+
+    public StreamingResponseBody subscribeToEvents(int userId) {
+        return out -> stream("/events", userId, MediaType.TEXT_EVENT_STREAM, out);
     }
 }
@@ -5,12 +5,14 @@ import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import ru.practicum.shareit.gateway.booking.dto.NewBookingDto;
-import ru.practicum.shareit.gateway.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.model.BookingState;
 
 import java.time.LocalDateTime;
 
@@ -75,6 +77,22 @@ public class BookingController {
         return bookingClient.getAllOwnersBookings(userId, state);
     }
 
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnersSummary(@RequestHeader("X-Sharer-User-Id") @Positive Integer userId) {
+        log.debug("gateway: GET /bookings/owner/summary");
+        log.debug("gateway: X-Sharer-User-Id = {}", userId);
+        return bookingClient.getOwnersSummary(userId);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> subscribeToEvents(@RequestHeader("X-Sharer-User-Id") @Positive Integer userId) {
+        log.debug("gateway: GET /bookings/events");
+        log.debug("gateway: X-Sharer-User-Id = {}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(bookingClient.subscribeToEvents(userId));
+    }
+
     private void validateBookingDates(NewBookingDto request) {
         LocalDateTime start = request.getStart();
         LocalDateTime end = request.getEnd();
@@ -1,21 +0,0 @@
-package ru.practicum.shareit.gateway.booking.model;
-
-import java.util.Optional;
-
-public enum BookingState {
-    ALL,
-    PAST,
-    CURRENT,
-    FUTURE,
-    WAITING,
-    REJECTED;
-
-    public static Optional<BookingState> from(String stringState) {
-        for (BookingState state : values()) {
-            if (state.name().equalsIgnoreCase(stringState)) {
-                return Optional.of(state);
-            }
-        }
-        return Optional.empty();
-    }
-}
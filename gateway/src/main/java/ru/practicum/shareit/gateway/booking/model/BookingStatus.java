@@ -1,8 +0,0 @@
-package ru.practicum.shareit.gateway.booking.model;
-
-public enum BookingStatus {
-    WAITING,
-    APPROVED,
-    REJECTED,
-    CANCELED
-}
@@ -4,63 +4,76 @@ import org.springframework.http.*;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    private static final Set<String> HOP_HEADERS = Set.of("content-type", "content-length",
+            "content-encoding", "transfer-encoding", "connection", "keep-alive");
+
     protected final RestTemplate rest;
+    private final UpstreamGuard guard;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, UpstreamGuard guard) {
         this.rest = rest;
+        this.guard = guard;
     }
 
-    protected ResponseEntity<Object> get(String path) {
-        return get(path, null, null);
-    }
-
-    protected ResponseEntity<Object> get(String path, int userId) {
-        return get(path, userId, null);
+    // responseType — DTO из модуля api (для списков — массив): Jackson сразу собирает типизированные объекты,
+    // без промежуточных LinkedHashMap
+    protected ResponseEntity<Object> get(String path, Class<?> responseType) {
+        return get(path, null, null, responseType);
     }
 
-    protected ResponseEntity<Object> get(String path, Integer userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected ResponseEntity<Object> get(String path, int userId, Class<?> responseType) {
+        return get(path, userId, null, responseType);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
-        return post(path, null, null, body);
+    protected ResponseEntity<Object> get(String path, Integer userId, @Nullable Map<String, Object> parameters,
+                                         Class<?> responseType) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, responseType);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, int userId, T body) {
-        return post(path, userId, null, body);
+    protected <T> ResponseEntity<Object> post(String path, T body, Class<?> responseType) {
+        return post(path, null, null, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> ResponseEntity<Object> post(String path, int userId, T body, Class<?> responseType) {
+        return post(path, userId, null, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, int userId, T body) {
-        return put(path, userId, null, body);
+    protected <T> ResponseEntity<Object> post(String path, Integer userId, @Nullable Map<String, Object> parameters,
+                                              T body, Class<?> responseType) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, int userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> ResponseEntity<Object> put(String path, int userId, T body, Class<?> responseType) {
+        return put(path, userId, null, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
-        return patch(path, null, null, body);
+    protected <T> ResponseEntity<Object> put(String path, int userId, @Nullable Map<String, Object> parameters,
+                                             T body, Class<?> responseType) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, int userId) {
-        return patch(path, userId, null, null);
+    protected <T> ResponseEntity<Object> patch(String path, T body, Class<?> responseType) {
+        return patch(path, null, null, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, int userId, T body) {
-        return patch(path, userId, null, body);
+    protected <T> ResponseEntity<Object> patch(String path, int userId, T body, Class<?> responseType) {
+        return patch(path, userId, null, body, responseType);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Integer userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> ResponseEntity<Object> patch(String path, Integer userId, @Nullable Map<String, Object> parameters,
+                                               T body, Class<?> responseType) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, responseType);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -72,20 +85,64 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Integer userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, Object.class);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Integer userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    // Передаёт тело ответа сервера клиенту по мере поступления, без буферизации (например, SSE).
+    // Поток держит соединение десятки минут, поэтому идёт мимо UpstreamGuard и не занимает его слоты
+    protected void stream(String path, int userId, MediaType accept, OutputStream out) {
+        rest.execute(path, HttpMethod.GET, request -> {
+            request.getHeaders().setAccept(List.of(accept));
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        }, response -> {
+            copyAndFlush(response.getBody(), out);
+            return null;
+        });
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private static void copyAndFlush(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        int read;
+
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            out.flush();
+        }
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Integer userId, @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          Class<?> responseType) {
+        HttpHeaders headers = defaultHeaders(userId);
+
+        // Условный GET: сервер сверит ETag с версиями строк и ответит 304 без тела
+        if (method == HttpMethod.GET) {
+            String ifNoneMatch = currentRequestHeader(HttpHeaders.IF_NONE_MATCH);
+
+            if (ifNoneMatch != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+        }
+        return guard.execute(() -> exchange(method, path, headers, parameters, body, responseType));
+    }
+
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                Class<?> responseType) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<?> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, responseType);
             }
         } catch (HttpStatusCodeException e) {
+            HttpHeaders errorHeaders = e.getResponseHeaders();
+
+            // Ошибку в CBOR внешний клиент не прочитает: разбираем её, наружу она уйдёт в JSON
+            if (errorHeaders != null && MediaType.APPLICATION_CBOR.isCompatibleWith(errorHeaders.getContentType())) {
+                return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAs(Object.class));
+            }
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
@@ -101,9 +158,19 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    @Nullable
+    private static String currentRequestHeader(String name) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getHeader(name);
+        }
+        return null;
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
+        if (response.getStatusCode().is2xxSuccessful() || response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(endToEndHeaders(response.getHeaders()))
+                    .body(response.getBody());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
@@ -114,4 +181,17 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    // Тело заново сериализуется шлюзом, поэтому формат и длина ответа сервера наружу не передаются
+    private static HttpHeaders endToEndHeaders(HttpHeaders headers) {
+        HttpHeaders result = new HttpHeaders();
+
+        headers.forEach((name, values) -> {
+            if (!HOP_HEADERS.contains(name.toLowerCase())) {
+                result.addAll(name, values);
+            }
+        });
+
+        return result;
+    }
+}
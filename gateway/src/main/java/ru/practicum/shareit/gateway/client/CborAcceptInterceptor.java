@@ -0,0 +1,26 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+// Просит у сервера CBOR вместо JSON; JSON остаётся запасным вариантом для сервера без поддержки CBOR.
+// Потоки событий (Accept: text/event-stream) не трогаем
+public class CborAcceptInterceptor implements ClientHttpRequestInterceptor {
+    private static final MediaType JSON_FALLBACK = MediaType.valueOf("application/json;q=0.5");
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (List.of(MediaType.APPLICATION_JSON).equals(request.getHeaders().getAccept())) {
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_CBOR, JSON_FALLBACK));
+        }
+
+        return execution.execute(request, body);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.gateway.client;
+
+import java.util.function.LongSupplier;
+
+// Автоматический выключатель по доле неудач среди последних windowSize вызовов.
+// OPEN — все вызовы отклоняются openDuration, затем HALF_OPEN пропускает halfOpenCalls пробных вызовов:
+// все успешны — CLOSED, хотя бы одна неудача — снова OPEN
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openNanos, int halfOpenCalls, LongSupplier clock) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1
+                || failureRateThreshold <= 0 || failureRateThreshold > 1 || openNanos <= 0) {
+            throw new IllegalArgumentException("Некорректные параметры автоматического выключателя");
+        }
+
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    // 0, если вызов разрешён (тогда обязателен onSuccess или onFailure), иначе через сколько наносекунд повторить
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            long wait = openedAt + openNanos - clock.getAsLong();
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+
+        if (state == State.HALF_OPEN) {
+            // пробные вызовы ещё не вернулись
+            if (halfOpenPermits == 0) {
+                return 1;
+            }
+
+            halfOpenPermits--;
+        }
+
+        return 0;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses == halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+
+            if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+                open();
+            }
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
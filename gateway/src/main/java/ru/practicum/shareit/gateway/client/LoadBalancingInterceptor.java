@@ -0,0 +1,57 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+// Направляет запрос клиента на выбранный экземпляр сервера: путь и параметры сохраняются,
+// меняются только схема, хост и порт
+@RequiredArgsConstructor
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final ServerPool serverPool;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        ServerEndpoint endpoint = serverPool.choose(request.getHeaders().getFirst(USER_HEADER));
+        URI target = UriComponentsBuilder.fromUri(request.getURI())
+                .scheme(endpoint.getUri().getScheme())
+                .host(endpoint.getUri().getHost())
+                .port(endpoint.getUri().getPort())
+                .build(true)
+                .toUri();
+
+        endpoint.getOutstanding().incrementAndGet();
+
+        try {
+            ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return target;
+                }
+            }, body);
+
+            if (response.getStatusCode().is5xxServerError()) {
+                serverPool.onFailure(endpoint);
+            } else {
+                serverPool.onSuccess(endpoint);
+            }
+
+            return response;
+        } catch (IOException e) {
+            serverPool.onFailure(endpoint);
+            throw e;
+        } finally {
+            endpoint.getOutstanding().decrementAndGet();
+        }
+    }
+}
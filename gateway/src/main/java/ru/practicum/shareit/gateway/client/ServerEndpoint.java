@@ -0,0 +1,40 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Один экземпляр сервера: число запросов в полёте, результат проверки здоровья и выброс по ошибкам
+@Getter
+public class ServerEndpoint {
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean healthy = true;
+    // 0 — узел не исключён, иначе момент System.nanoTime(), до которого он исключён
+    private volatile long ejectedUntil;
+
+    public ServerEndpoint(URI uri) {
+        this.uri = uri;
+    }
+
+    public boolean isAvailable(long now) {
+        long until = ejectedUntil;
+
+        return healthy && (until == 0 || now - until >= 0);
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    void eject(long until) {
+        ejectedUntil = until;
+    }
+
+    @Override
+    public String toString() {
+        return uri.toString();
+    }
+}
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Экземпляры сервера за шлюзом. По умолчанию узел выбирается rendezvous-хешированием по X-Sharer-User-Id,
+// чтобы запросы пользователя попадали в уже прогретые кеши одного узла. Корректность от этого не зависит:
+// изменения, сделанные на другом узле, сервер получает через outbox (cache_events, booking_events)
+// с задержкой не больше интервала опроса. Запросы без пользователя и режим hash-by-user=false —
+// «два случайных, берём менее загруженный» (P2C по числу запросов в полёте). Недоступные узлы
+// исключаются по активной проверке /actuator/health и пассивно — после серии ошибок подряд
+@Slf4j
+@Component
+public class ServerPool {
+    public static final String METRIC_PREFIX = "shareit.upstream.endpoint.";
+    private static final String HEALTH_PATH = "/actuator/health";
+
+    private final List<ServerEndpoint> endpoints;
+    private final boolean hashByUser;
+    private final int ejectionFailures;
+    private final long ejectionNanos;
+    private final RestTemplate healthClient;
+    private final Map<ServerEndpoint, Counter> ejections = new HashMap<>();
+
+    public ServerPool(@Value("${shareit-server.endpoints:${shareit-server.url}}") List<String> urls,
+                      @Value("${shareit-server.balancing.hash-by-user:true}") boolean hashByUser,
+                      @Value("${shareit-server.outlier.consecutive-failures:5}") int ejectionFailures,
+                      @Value("${shareit-server.outlier.ejection-time:30s}") Duration ejectionTime,
+                      @Value("${shareit-server.health-check.timeout:1s}") Duration healthCheckTimeout,
+                      MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("Не задан ни один адрес сервера");
+        }
+
+        this.endpoints = urls.stream()
+                .map(String::trim)
+                .map(URI::create)
+                .map(ServerEndpoint::new)
+                .toList();
+        this.hashByUser = hashByUser;
+        this.ejectionFailures = ejectionFailures;
+        this.ejectionNanos = ejectionTime.toNanos();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(healthCheckTimeout);
+        requestFactory.setReadTimeout(healthCheckTimeout);
+        this.healthClient = new RestTemplate(requestFactory);
+
+        for (ServerEndpoint endpoint : endpoints) {
+            String tag = endpoint.toString();
+
+            Gauge.builder(METRIC_PREFIX + "outstanding", endpoint, e -> e.getOutstanding().get())
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "available", endpoint, e -> e.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .tag("endpoint", tag)
+                    .register(meterRegistry);
+            ejections.put(endpoint, meterRegistry.counter(METRIC_PREFIX + "ejections", "endpoint", tag));
+        }
+
+        log.info("Адреса сервера: {}, привязка к пользователю: {}", endpoints, hashByUser);
+    }
+
+    public List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public ServerEndpoint choose(@Nullable String userId) {
+        if (endpoints.size() == 1) {
+            return endpoints.getFirst();
+        }
+
+        long now = System.nanoTime();
+        List<ServerEndpoint> candidates = new ArrayList<>(endpoints.size());
+
+        for (ServerEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(now)) {
+                candidates.add(endpoint);
+            }
+        }
+
+        // Все узлы исключены — пробуем все: отказ лучше увидит выключатель клиента
+        if (candidates.isEmpty()) {
+            candidates = endpoints;
+        }
+
+        if (candidates.size() == 1) {
+            return candidates.getFirst();
+        }
+
+        if (hashByUser && userId != null) {
+            return rendezvous(candidates, userId);
+        }
+
+        return powerOfTwoChoices(candidates);
+    }
+
+    public void onSuccess(ServerEndpoint endpoint) {
+        endpoint.getConsecutiveFailures().set(0);
+    }
+
+    public void onFailure(ServerEndpoint endpoint) {
+        if (endpoint.getConsecutiveFailures().incrementAndGet() < ejectionFailures) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        // Последний доступный узел не исключаем
+        boolean othersAvailable = endpoints.stream()
+                .anyMatch(other -> other != endpoint && other.isAvailable(now));
+
+        if (othersAvailable && endpoint.isAvailable(now)) {
+            endpoint.eject(now + ejectionNanos);
+            endpoint.getConsecutiveFailures().set(0);
+            ejections.get(endpoint).increment();
+            log.warn("Узел {} исключён на {} с после {} ошибок подряд", endpoint,
+                    Duration.ofNanos(ejectionNanos).toSeconds(), ejectionFailures);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit-server.health-check.interval:5000}")
+    public void checkHealth() {
+        if (endpoints.size() == 1) {
+            return;
+        }
+
+        for (ServerEndpoint endpoint : endpoints) {
+            boolean healthy;
+
+            try {
+                healthy = healthClient.getForEntity(endpoint.getUri().resolve(HEALTH_PATH), String.class)
+                        .getStatusCode().is2xxSuccessful();
+            } catch (RestClientException e) {
+                healthy = false;
+            }
+
+            if (healthy != endpoint.isHealthy()) {
+                log.warn("Узел {} {}", endpoint, healthy ? "снова доступен" : "не прошёл проверку здоровья");
+            }
+
+            endpoint.setHealthy(healthy);
+        }
+    }
+
+    private static ServerEndpoint powerOfTwoChoices(List<ServerEndpoint> candidates) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+
+        if (second >= first) {
+            second++;
+        }
+
+        ServerEndpoint a = candidates.get(first);
+        ServerEndpoint b = candidates.get(second);
+
+        return a.getOutstanding().get() <= b.getOutstanding().get() ? a : b;
+    }
+
+    // Узел с наибольшим весом hash(пользователь, узел): при выпадении узла переезжают только его пользователи
+    private static ServerEndpoint rendezvous(List<ServerEndpoint> candidates, String userId) {
+        long userHash = hash(userId);
+        ServerEndpoint best = null;
+        long bestWeight = 0;
+
+        for (ServerEndpoint endpoint : candidates) {
+            long weight = mix(userHash ^ hash(endpoint.toString()));
+
+            if (best == null || Long.compareUnsigned(weight, bestWeight) > 0) {
+                best = endpoint;
+                bestWeight = weight;
+            }
+        }
+
+        return best;
+    }
+
+    // FNV-1a
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    // финальное перемешивание из MurmurHash3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
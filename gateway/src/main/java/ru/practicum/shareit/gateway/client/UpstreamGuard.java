@@ -0,0 +1,103 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+
+import ru.practicum.shareit.gateway.exception.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Изоляция одного клиента сервера: не больше maxConcurrent одновременных запросов (bulkhead)
+// и автоматический выключатель. Медленный или упавший маршрут занимает только свои потоки,
+// остальные клиенты продолжают работать
+@Slf4j
+public class UpstreamGuard {
+    public static final String METRIC_PREFIX = "shareit.upstream.";
+
+    private final String name;
+    private final Semaphore bulkhead;
+    private final long maxWaitNanos;
+    private final CircuitBreaker breaker;
+    private final Counter bulkheadRejections;
+    private final Counter breakerRejections;
+
+    public UpstreamGuard(String name, int maxConcurrent, Duration maxWait, CircuitBreaker breaker,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.breaker = breaker;
+
+        Gauge.builder(METRIC_PREFIX + "breaker.state", breaker, b -> b.getState().ordinal())
+                .description("Состояние выключателя: 0 — закрыт, 1 — открыт, 2 — пробные вызовы")
+                .tag("client", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "bulkhead.active", bulkhead, s -> maxConcurrent - s.availablePermits())
+                .tag("client", name)
+                .register(meterRegistry);
+        bulkheadRejections = meterRegistry.counter(METRIC_PREFIX + "rejected", "client", name, "reason", "bulkhead");
+        breakerRejections = meterRegistry.counter(METRIC_PREFIX + "rejected", "client", name, "reason", "breaker");
+    }
+
+    public CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    // Неудача для выключателя — исключение (сеть, таймаут) или ответ 5xx; ответы 4xx считаются успешными
+    public ResponseEntity<Object> execute(Supplier<ResponseEntity<Object>> call) {
+        acquireBulkhead();
+
+        try {
+            long wait = breaker.tryAcquire();
+
+            if (wait > 0) {
+                breakerRejections.increment();
+                throw new UpstreamUnavailableException("Сервер временно недоступен (" + name + ")",
+                        Duration.ofNanos(wait));
+            }
+
+            ResponseEntity<Object> response;
+            try {
+                response = call.get();
+            } catch (Throwable e) {
+                // и Error тоже: иначе пробный запрос HALF_OPEN занял бы разрешение без исхода
+                breaker.onFailure();
+                throw e;
+            }
+
+            if (response.getStatusCode().is5xxServerError()) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+
+            return response;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireBulkhead() {
+        boolean acquired;
+
+        try {
+            acquired = bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            bulkheadRejections.increment();
+            log.debug("Нет свободных слотов для запроса к серверу ({})", name);
+            throw new UpstreamUnavailableException("Слишком много одновременных запросов к серверу (" + name + ")",
+                    null);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Общие настройки изоляции; у каждого клиента свой экземпляр UpstreamGuard
+@Component
+public class UpstreamGuardFactory {
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamGuardFactory(@Value("${shareit.upstream.bulkhead.max-concurrent:20}") int maxConcurrent,
+                                @Value("${shareit.upstream.bulkhead.max-wait:50ms}") Duration maxWait,
+                                @Value("${shareit.upstream.breaker.window-size:50}") int windowSize,
+                                @Value("${shareit.upstream.breaker.minimum-calls:20}") int minimumCalls,
+                                @Value("${shareit.upstream.breaker.failure-rate-threshold:50}") int failureRatePercent,
+                                @Value("${shareit.upstream.breaker.open-duration:10s}") Duration openDuration,
+                                @Value("${shareit.upstream.breaker.half-open-calls:3}") int halfOpenCalls,
+                                MeterRegistry meterRegistry) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRatePercent / 100.0;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public UpstreamGuard create(String name) {
+        CircuitBreaker breaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDuration.toNanos(), halfOpenCalls, System::nanoTime);
+
+        return new UpstreamGuard(name, maxConcurrent, maxWait, breaker, meterRegistry);
+    }
+}
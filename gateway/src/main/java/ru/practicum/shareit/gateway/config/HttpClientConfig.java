@@ -0,0 +1,67 @@
+package ru.practicum.shareit.gateway.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import ru.practicum.shareit.gateway.client.CborAcceptInterceptor;
+import ru.practicum.shareit.gateway.client.GzipDecodingInterceptor;
+
+import java.net.http.HttpClient;
+
+// Общий транспорт всех клиентов сервера. По умолчанию HTTP/1.1 через пул Apache HttpClient
+// (gzip распаковывается им же), с shareit-server.http2=true — h2c через JDK HttpClient:
+// запросы мультиплексируются в одном соединении на экземпляр сервера
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+    @Bean
+    public ClientHttpRequestFactory serverRequestFactory(
+            @Value("${shareit-server.http2:false}") boolean http2,
+            @Value("${shareit-server.pool.max-connections:200}") int maxConnections,
+            @Value("${shareit-server.pool.max-connections-per-route:80}") int maxConnectionsPerRoute) {
+        if (http2) {
+            log.info("Соединение с сервером: h2c");
+            return new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .build());
+        }
+
+        log.info("Соединение с сервером: HTTP/1.1, пул {} соединений ({} на экземпляр)",
+                maxConnections, maxConnectionsPerRoute);
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnectionsPerRoute)
+                        .build())
+                .build());
+    }
+
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(RestTemplateBuilderConfigurer configurer,
+                                                   ClientHttpRequestFactory serverRequestFactory,
+                                                   @Value("${shareit-server.http2:false}") boolean http2,
+                                                   @Value("${shareit-server.wire-format:json}") String wireFormat) {
+        RestTemplateBuilder builder = configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> serverRequestFactory);
+
+        if (http2) {
+            builder = builder.additionalInterceptors(new GzipDecodingInterceptor());
+        }
+
+        if ("cbor".equalsIgnoreCase(wireFormat)) {
+            log.info("Формат ответов сервера: CBOR");
+            builder = builder.additionalInterceptors(new CborAcceptInterceptor());
+        }
+
+        return builder;
+    }
+}
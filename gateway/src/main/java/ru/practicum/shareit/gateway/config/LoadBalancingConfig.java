@@ -0,0 +1,17 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ru.practicum.shareit.gateway.client.LoadBalancingInterceptor;
+import ru.practicum.shareit.gateway.client.ServerPool;
+
+@Configuration
+public class LoadBalancingConfig {
+    // Клиенты строят URI от shareit-server.url, перехватчик подменяет адрес на выбранный экземпляр
+    @Bean
+    public RestTemplateCustomizer loadBalancingCustomizer(ServerPool serverPool) {
+        return restTemplate -> restTemplate.getInterceptors().add(new LoadBalancingInterceptor(serverPool));
+    }
+}
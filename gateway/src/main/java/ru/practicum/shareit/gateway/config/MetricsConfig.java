@@ -0,0 +1,17 @@
+package ru.practicum.shareit.gateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import ru.practicum.shareit.gateway.client.UpstreamMetricsInterceptor;
+
+@Configuration
+public class MetricsConfig {
+    // Применяется ко всем клиентам, собранным через RestTemplateBuilder
+    @Bean
+    public RestTemplateCustomizer upstreamMetricsCustomizer(MeterRegistry meterRegistry) {
+        return restTemplate -> restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(meterRegistry));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import ru.practicum.shareit.gateway.exception.ErrorMessage;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Подсказки для native-образа (профиль Maven native). Тип ответа сервера передаётся в RestTemplate
+// как Class<?> во время выполнения, поэтому AOT не находит DTO модуля api сам
+@Configuration
+@ImportRuntimeHints(NativeImageConfig.ApiDtoHints.class)
+@RegisterReflectionForBinding(ErrorMessage.class)
+public class NativeImageConfig {
+    static final String API_PACKAGE = "ru.practicum.shareit.api";
+
+    static class ApiDtoHints implements RuntimeHintsRegistrar {
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> type : findApiTypes(classLoader)) {
+                // конструкторы и свойства для Jackson
+                bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+                // аннотации Bean Validation на полях
+                hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS);
+                // списки приходят от сервера массивами (BookingDto[].class)
+                hints.reflection().registerType(type.arrayType());
+            }
+        }
+
+        static List<Class<?>> findApiTypes(ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+            scanner.addIncludeFilter(new RegexPatternTypeFilter(Pattern.compile(".*\\.(dto|model)\\.[^.]+")));
+
+            return scanner.findCandidateComponents(API_PACKAGE).stream()
+                    .map(BeanDefinition::getBeanClassName)
+                    .<Class<?>>map(name -> ClassUtils.resolveClassName(name, classLoader))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class StreamingConfig implements WebMvcConfigurer {
+    // Каждый проксируемый поток событий блокирует поток на чтении из сервера,
+    // поэтому вместо ограниченного пула приложения используются виртуальные потоки
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new VirtualThreadTaskExecutor("gateway-stream-"));
+    }
+}
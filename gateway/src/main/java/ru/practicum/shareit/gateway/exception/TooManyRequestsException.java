@@ -0,0 +1,20 @@
+package ru.practicum.shareit.gateway.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+    // Retry-After передаётся в целых секундах, округляем вверх
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(Duration retryAfter) {
+        this(Math.max(1, retryAfter.plusSeconds(1).minusNanos(1).toSeconds()));
+    }
+
+    private TooManyRequestsException(long retryAfterSeconds) {
+        super("Слишком много запросов, повторите через " + retryAfterSeconds + " с");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.gateway.exception;
+
+import lombok.Getter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+// Запрос отклонён шлюзом без обращения к серверу (выключатель открыт или заняты все слоты клиента)
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+    // Retry-After в целых секундах, округлённых вверх; null — время повтора неизвестно
+    @Nullable
+    private final Long retryAfterSeconds;
+
+    public UpstreamUnavailableException(String message, @Nullable Duration retryAfter) {
+        super(message);
+        this.retryAfterSeconds = retryAfter == null ? null
+                : Math.max(1, retryAfter.plusSeconds(1).minusNanos(1).toSeconds());
+    }
+}
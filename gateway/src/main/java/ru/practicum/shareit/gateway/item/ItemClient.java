@@ -4,14 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.gateway.client.BaseClient;
-import ru.practicum.shareit.gateway.item.dto.CommentDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDto;
-import ru.practicum.shareit.gateway.item.dto.UpdateItemDto;
+import ru.practicum.shareit.gateway.client.UpstreamGuardFactory;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -19,25 +23,26 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      UpstreamGuardFactory guards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .build(),
+                guards.create("items")
         );
     }
 
     public ResponseEntity<Object> createItem(int userId, ItemDto request) {
-        return post("", userId, request);
+        return post("", userId, request, ItemDto.class);
     }
 
     public ResponseEntity<Object> getItem(int userId, int itemId) {
-        return get("/" + itemId, userId);
+        return get("/" + itemId, userId, ItemDetailedDto.class);
     }
 
     public ResponseEntity<Object> getItems(int userId) {
-        return get("", userId);
+        return get("", userId, ItemDetailedDto[].class);
     }
 
     public ResponseEntity<Object> searchItems(int userId, String text) {
@@ -45,14 +50,30 @@ public class ItemClient extends BaseClient {
                 "text", text
         );
 
-        return get("/search?text={text}", userId, params);
+        return get("/search?text={text}", userId, params, ItemDto[].class);
     }
 
     public ResponseEntity<Object> updateItem(int userId, int itemId, UpdateItemDto request) {
-        return patch("/" + itemId, userId, request);
+        return patch("/" + itemId, userId, request, ItemDto.class);
     }
 
     public ResponseEntity<Object> createComment(int userId, int itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return post("/" + itemId + "/comment", userId, commentDto, CommentDto.class);
+    }
+
+    public ResponseEntity<Object> getComments(int userId, int itemId, LocalDateTime before, Integer beforeId,
+                                              int size) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("size", size);
+
+        if (before == null) {
+            return get("/" + itemId + "/comments?size={size}", userId, params, CommentDto[].class);
+        }
+
+        params.put("before", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(before));
+        params.put("beforeId", beforeId);
+
+        return get("/" + itemId + "/comments?before={before}&beforeId={beforeId}&size={size}", userId, params,
+                CommentDto[].class);
     }
 }
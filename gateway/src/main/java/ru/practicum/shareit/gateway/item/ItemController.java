@@ -1,17 +1,21 @@
 package ru.practicum.shareit.gateway.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import ru.practicum.shareit.gateway.item.dto.CommentDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDto;
-import ru.practicum.shareit.gateway.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
+
+import java.time.LocalDateTime;
 
 @Slf4j
 @RestController
@@ -70,4 +74,22 @@ public class ItemController {
         log.debug("gateway: X-Sharer-User-Id = {}", userId);
         return itemClient.createComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader("X-Sharer-User-Id") @Positive Integer userId,
+                                              @PathVariable @Positive int itemId,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                              @RequestParam(required = false) @Positive Integer beforeId,
+                                              @RequestParam(defaultValue = "20") @Positive @Max(100) int size) {
+        log.debug("gateway: GET /items/{}/comments?before={}&beforeId={}&size={}", itemId, before, beforeId, size);
+        log.debug("gateway: X-Sharer-User-Id = {}", userId);
+
+        // курсор задаётся парой (created, id) последнего полученного комментария
+        if ((before == null) != (beforeId == null)) {
+            throw new IllegalArgumentException("Параметры before и beforeId должны передаваться вместе");
+        }
+
+        return itemClient.getComments(userId, itemId, before, beforeId, size);
+    }
 }
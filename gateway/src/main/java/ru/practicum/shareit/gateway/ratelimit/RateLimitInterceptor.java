@@ -0,0 +1,73 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import ru.practicum.shareit.gateway.exception.TooManyRequestsException;
+
+import java.time.Duration;
+
+// Ограничение частоты запросов к серверу по паре (пользователь, маршрут).
+// Запросы без X-Sharer-User-Id (создание пользователя и т.п.) учитываются по адресу клиента
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    public static final String METRIC_NAME = "shareit.gateway.rate-limit";
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final RateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public RateLimitInterceptor(@Value("${shareit.rate-limit.enabled:true}") boolean enabled,
+                                @Value("${shareit.rate-limit.burst:50}") int burst,
+                                @Value("${shareit.rate-limit.refill-per-second:20}") int refillPerSecond,
+                                @Value("${shareit.rate-limit.max-keys:100000}") int maxKeys,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.rateLimiter = new RateLimiter(burst, refillPerSecond, maxKeys);
+        // В срезах @WebMvcTest реестра метрик нет, перехватчик там всё равно нужен
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+
+        Gauge.builder(METRIC_NAME + ".keys", rateLimiter, RateLimiter::size)
+                .description("Число корзин токенов в памяти шлюза")
+                .register(this.meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+
+        String route = request.getMethod() + " " + route(request);
+        String client = request.getHeader(USER_HEADER);
+        String key = (client != null ? client : request.getRemoteAddr()) + " " + route;
+
+        long waitNanos = rateLimiter.tryAcquire(key);
+
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        meterRegistry.counter(METRIC_NAME + ".rejected", "route", route).increment();
+        log.debug("Превышена частота запросов: {}", key);
+
+        throw new TooManyRequestsException(Duration.ofNanos(waitNanos));
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
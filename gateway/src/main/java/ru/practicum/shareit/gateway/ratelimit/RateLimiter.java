@@ -0,0 +1,73 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+// Корзины токенов по произвольному ключу. Число ключей ограничено: при переполнении сначала
+// удаляются полные корзины, а если их не хватило — любые (такие ключи получат запас заново)
+public class RateLimiter {
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final long emissionInterval;
+    private final long burstWindow;
+    private final int maxKeys;
+    private final LongSupplier clock;
+
+    public RateLimiter(int burst, int refillPerSecond, int maxKeys, LongSupplier clock) {
+        if (burst < 1 || refillPerSecond < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Параметры ограничения запросов должны быть положительными");
+        }
+
+        this.emissionInterval = TimeUnit.SECONDS.toNanos(1) / refillPerSecond;
+        this.burstWindow = emissionInterval * burst;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    public RateLimiter(int burst, int refillPerSecond, int maxKeys) {
+        this(burst, refillPerSecond, maxKeys, System::nanoTime);
+    }
+
+    // 0, если запрос пропущен, иначе сколько наносекунд ждать до следующей попытки
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        TokenBucket bucket = buckets.get(key);
+
+        if (bucket == null) {
+            // Чистим до вставки, иначе новая (полная) корзина сама попала бы под удаление
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+
+            bucket = buckets.computeIfAbsent(key, ignored -> new TokenBucket());
+        }
+
+        return bucket.tryAcquire(now, emissionInterval, burstWindow);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void evict(long now) {
+        // Чисткой занимается один поток, остальные не ждут
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+            Iterator<TokenBucket> iterator = buckets.values().iterator();
+            while (buckets.size() >= maxKeys && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
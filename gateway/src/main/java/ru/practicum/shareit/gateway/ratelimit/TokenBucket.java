@@ -0,0 +1,31 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Корзина токенов в виде GCRA: вместо счётчика токенов и времени пополнения хранится одно число —
+// теоретическое время прихода следующего запроса, поэтому хватает одного CAS без блокировок
+public class TokenBucket {
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    // 0, если запрос пропущен, иначе сколько наносекунд ждать до появления токена
+    public long tryAcquire(long now, long emissionInterval, long burstWindow) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + emissionInterval;
+            long excess = next - now - burstWindow;
+
+            if (excess > 0) {
+                return excess;
+            }
+
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Полная корзина ничем не отличается от новой, поэтому её можно удалить без потери состояния
+    public boolean isFull(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
@@ -4,40 +4,42 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.gateway.client.BaseClient;
-import ru.practicum.shareit.gateway.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.gateway.client.UpstreamGuardFactory;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             UpstreamGuardFactory guards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .build(),
+                guards.create("requests")
         );
     }
 
     public ResponseEntity<Object> createRequest(int userId, ItemRequestShortDto request) {
-        return post("", userId, request);
+        return post("", userId, request, ItemRequestShortDto.class);
     }
 
     public ResponseEntity<Object> getAllUsersRequests(int userId) {
-        return get("", userId);
+        return get("", userId, ItemRequestDto[].class);
     }
 
     public ResponseEntity<Object> getAllRequests(int userId) {
-        return get("/all", userId);
+        return get("/all", userId, ItemRequestShortDto[].class);
     }
 
     public ResponseEntity<Object> getRequest(int userId, int requestId) {
-        return get("/" + requestId, userId);
+        return get("/" + requestId, userId, ItemRequestDto.class);
     }
 }
@@ -9,7 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import ru.practicum.shareit.gateway.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 
 @Slf4j
 @RestController
@@ -4,38 +4,40 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.gateway.client.BaseClient;
-import ru.practicum.shareit.gateway.user.dto.UpdateUserDto;
-import ru.practicum.shareit.gateway.user.dto.NewUserDto;
+import ru.practicum.shareit.gateway.client.UpstreamGuardFactory;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      UpstreamGuardFactory guards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .build(),
+                guards.create("users")
         );
     }
 
     public ResponseEntity<Object> createUser(NewUserDto request) {
-        return post("", request);
+        return post("", request, UserDto.class);
     }
 
     public ResponseEntity<Object> getUser(int userId) {
-        return get("/" + userId);
+        return get("/" + userId, UserDto.class);
     }
 
     public ResponseEntity<Object> updateUser(int userId, UpdateUserDto request) {
-        return patch("/" + userId, request);
+        return patch("/" + userId, request, UserDto.class);
     }
 
     public ResponseEntity<Object> deleteUser(int userId) {
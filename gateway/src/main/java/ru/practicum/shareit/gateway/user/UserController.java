@@ -9,8 +9,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import ru.practicum.shareit.gateway.user.dto.UpdateUserDto;
-import ru.practicum.shareit.gateway.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
 
 @Slf4j
 @RestController
@@ -1,10 +0,0 @@
-package ru.practicum.shareit.gateway.user.dto;
-
-import lombok.Data;
-
-@Data
-public class UserDto {
-    private Integer id;
-    private String name;
-    private String email;
-}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+import ru.practicum.shareit.api.utils.DtoSamples;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Дымовые тесты собранного native-образа шлюза (профиль Maven native, failsafe передаёт путь в native.executable).
+// Вместо shareit-server — встроенный HTTP-сервер: проверяются привязка DTO, валидация и клиент HttpClient 5
+class NativeGatewaySmokeIT {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private static final HttpClient http = HttpClient.newHttpClient();
+    private static final UserDto user = (UserDto) DtoSamples.create(UserDto.class);
+    private static final List<BookingDto> bookings = List.of((BookingDto) DtoSamples.create(BookingDto.class),
+            (BookingDto) DtoSamples.create(BookingDto.class));
+    private static final AtomicInteger userCalls = new AtomicInteger();
+
+    private static HttpServer upstream;
+    private static Process gateway;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void startGateway() throws Exception {
+        String executable = System.getProperty("native.executable");
+        assumeTrue(executable != null && Files.isExecutable(Path.of(executable)), "native-образ не собран");
+
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/actuator/health", exchange -> respond(exchange, 200, "{\"status\":\"UP\"}"));
+        upstream.createContext("/users", exchange -> {
+            userCalls.incrementAndGet();
+            respond(exchange, 200, mapper.writeValueAsString(user));
+        });
+        upstream.createContext("/bookings", exchange -> respond(exchange, 200, mapper.writeValueAsString(bookings)));
+        upstream.start();
+
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+        gateway = new ProcessBuilder(executable,
+                "--server.port=" + port,
+                "--shareit-server.url=http://localhost:" + upstream.getAddress().getPort())
+                .inheritIO()
+                .start();
+
+        awaitHealthy();
+    }
+
+    @AfterAll
+    static void stopGateway() throws InterruptedException {
+        if (gateway != null) {
+            gateway.destroy();
+            if (!gateway.waitFor(10, TimeUnit.SECONDS)) {
+                gateway.destroyForcibly();
+            }
+        }
+        if (upstream != null) {
+            upstream.stop(0);
+        }
+    }
+
+    @Test
+    void shouldProxyTypedResponse() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/users/1")).GET());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(mapper.valueToTree(user), mapper.readTree(response.body()));
+    }
+
+    @Test
+    void shouldProxyArrayResponse() throws Exception {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/bookings?state=ALL"))
+                .header("X-Sharer-User-Id", "1")
+                .GET());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(mapper.valueToTree(bookings), mapper.readTree(response.body()));
+    }
+
+    @Test
+    void shouldValidateRequestWithoutCallingServer() throws Exception {
+        int callsBefore = userCalls.get();
+
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/users"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"user\",\"email\":\"not an email\"}")));
+
+        assertEquals(400, response.statusCode());
+        JsonNode error = mapper.readTree(response.body());
+        assertTrue(error.hasNonNull("error"), response.body());
+        assertEquals(callsBefore, userCalls.get());
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void awaitHealthy() throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            assertTrue(gateway.isAlive(), "шлюз завершился при старте");
+            try {
+                if (send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ignored) {
+                // порт ещё не открыт
+            }
+            Thread.sleep(100);
+        }
+        fail("Шлюз не запустился за " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
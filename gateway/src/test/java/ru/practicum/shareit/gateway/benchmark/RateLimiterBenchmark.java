@@ -0,0 +1,67 @@
+package ru.practicum.shareit.gateway.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.gateway.ratelimit.RateLimiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Накладные расходы ограничителя на один запрос при одновременной работе всех ядер.
+// ownKey — у каждого потока свой пользователь (обычная нагрузка),
+// sharedKey — все потоки бьют в одну корзину (худший случай для CAS),
+// manyKeys — случайные ключи из большой карты (промахи мимо кеша процессора).
+// Запуск: mvn -pl gateway -Pbenchmark -DskipTests verify -Dbenchmark=RateLimiterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(Threads.MAX)
+@Fork(1)
+public class RateLimiterBenchmark {
+    private static final String ROUTE = " GET /items/{itemId}";
+    private static final int KEYS = 100_000;
+
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    private RateLimiter rateLimiter;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        // Лимит заведомо не достигается: измеряется только сам путь запроса через ограничитель
+        rateLimiter = new RateLimiter(Integer.MAX_VALUE / 2, 1_000_000_000, KEYS);
+        keys = new String[KEYS];
+
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = i + ROUTE;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKey {
+        private String key;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark) {
+            key = benchmark.threadIds.incrementAndGet() + ROUTE;
+        }
+    }
+
+    @Benchmark
+    public long ownKey(ThreadKey threadKey) {
+        return rateLimiter.tryAcquire(threadKey.key);
+    }
+
+    @Benchmark
+    public long sharedKey() {
+        return rateLimiter.tryAcquire(keys[0]);
+    }
+
+    @Benchmark
+    public long manyKeys() {
+        return rateLimiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+}
@@ -6,24 +6,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplateHandler;
-import ru.practicum.shareit.gateway.booking.dto.BookingDto;
-import ru.practicum.shareit.gateway.booking.dto.NewBookingDto;
-import ru.practicum.shareit.gateway.booking.model.BookingState;
-import ru.practicum.shareit.gateway.booking.model.BookingStatus;
-import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.gateway.utils.BookingTestData;
 import ru.practicum.shareit.gateway.utils.UserTestData;
+import ru.practicum.shareit.gateway.utils.UpstreamTestData;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -63,7 +73,7 @@ class BookingClientTest {
         };
 
         String url = "http://localhost:9090/users";
-        bookingClient = new BookingClient(url, builder);
+        bookingClient = new BookingClient(url, builder, UpstreamTestData.createGuardFactory());
     }
 
     @Test
@@ -76,7 +86,7 @@ class BookingClientTest {
                 eq(""),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(BookingDto.class)
         )).thenReturn(new ResponseEntity<>(savedBooking, HttpStatus.CREATED));
 
         ResponseEntity<Object> actualResponse = bookingClient.createBooking(booker.getId(), request);
@@ -94,7 +104,7 @@ class BookingClientTest {
                 eq("/" + booking.getId()),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(BookingDto.class)
         )).thenReturn(ResponseEntity.ok(booking));
 
         ResponseEntity<Object> actualResponse = bookingClient.getBooking(1, booking.getId());
@@ -114,7 +124,7 @@ class BookingClientTest {
                 eq("/" + booking.getId() + "?approved={approved}"),
                 eq(HttpMethod.PATCH),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(BookingDto.class),
                 eq(Map.of("approved", approved))
         )).thenReturn(ResponseEntity.ok(booking));
 
@@ -136,15 +146,15 @@ class BookingClientTest {
                 eq("?state={state}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(BookingDto[].class),
                 eq(Map.of("state", state.name()))
-        )).thenReturn(ResponseEntity.ok(List.of(booking1, booking2)));
+        )).thenReturn(ResponseEntity.ok(new BookingDto[]{booking1, booking2}));
 
         ResponseEntity<Object> actualResponse = bookingClient.getAllBookersBookings(booking1.getBooker().getId(), state);
 
         assertNotNull(actualResponse);
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
-        assertEquals(List.of(booking1, booking2), actualResponse.getBody());
+        assertArrayEquals(new BookingDto[]{booking1, booking2}, (BookingDto[]) actualResponse.getBody());
     }
 
     @ParameterizedTest
@@ -158,14 +168,58 @@ class BookingClientTest {
                 eq("/owner?state={state}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(BookingDto[].class),
                 eq(Map.of("state", state.name()))
-        )).thenReturn(ResponseEntity.ok(List.of(booking1, booking2)));
+        )).thenReturn(ResponseEntity.ok(new BookingDto[]{booking1, booking2}));
 
         ResponseEntity<Object> actualResponse = bookingClient.getAllOwnersBookings(booking1.getBooker().getId(), state);
 
         assertNotNull(actualResponse);
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
-        assertEquals(List.of(booking1, booking2), actualResponse.getBody());
+        assertArrayEquals(new BookingDto[]{booking1, booking2}, (BookingDto[]) actualResponse.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetOwnersSummary() {
+        BookingSummaryDto summary = new BookingSummaryDto();
+        summary.setAll(3);
+        summary.setWaiting(1);
+
+        when(restTemplate.exchange(
+                eq("/owner/summary"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(BookingSummaryDto.class)
+        )).thenReturn(ResponseEntity.ok(summary));
+
+        ResponseEntity<Object> actualResponse = bookingClient.getOwnersSummary(1);
+
+        assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
+        assertEquals(summary, actualResponse.getBody());
+    }
+
+    @Test
+    void shouldStreamBookingEvents() throws Exception {
+        String events = "event:CREATED\ndata:{\"id\":1}\n\n";
+        MockClientHttpRequest upstreamRequest = new MockClientHttpRequest();
+
+        when(restTemplate.execute(
+                eq("/events"),
+                eq(HttpMethod.GET),
+                any(RequestCallback.class),
+                ArgumentMatchers.<ResponseExtractor<Void>>any()
+        )).thenAnswer(invocation -> {
+            invocation.getArgument(2, RequestCallback.class).doWithRequest(upstreamRequest);
+            ResponseExtractor<Void> extractor = invocation.getArgument(3);
+            return extractor.extractData(
+                    new MockClientHttpResponse(events.getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+        });
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookingClient.subscribeToEvents(1).writeTo(out);
+
+        assertEquals(events, out.toString(StandardCharsets.UTF_8));
+        assertEquals("1", upstreamRequest.getHeaders().getFirst("X-Sharer-User-Id"));
+        assertEquals(List.of(MediaType.TEXT_EVENT_STREAM), upstreamRequest.getHeaders().getAccept());
+    }
+}
@@ -16,15 +16,19 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import ru.practicum.shareit.gateway.booking.dto.BookingDto;
-import ru.practicum.shareit.gateway.booking.dto.NewBookingDto;
-import ru.practicum.shareit.gateway.booking.model.BookingState;
-import ru.practicum.shareit.gateway.booking.model.BookingStatus;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.gateway.utils.BookingTestData;
 
 import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.stream.Stream;
 
@@ -35,7 +39,9 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -384,4 +390,45 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", 1))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetOwnersSummary() throws Exception {
+        when(bookingClient.getOwnersSummary(anyInt()))
+                .thenReturn(ResponseEntity.ok(Map.of("all", 3, "waiting", 1)));
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(3))
+                .andExpect(jsonPath("$.waiting").value(1));
+    }
+
+    @Test
+    void shouldProxyBookingEvents() throws Exception {
+        String events = "event:CREATED\ndata:{\"id\":1}\n\n";
+        StreamingResponseBody body = out -> out.write(events.getBytes(StandardCharsets.UTF_8));
+
+        when(bookingClient.subscribeToEvents(anyInt()))
+                .thenReturn(body);
+
+        MvcResult result = mockMvc.perform(get("/bookings/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(events));
+    }
+
+    @Test
+    void shouldNotSubscribeToEventsWithInvalidUserId() throws Exception {
+        // ошибка возвращается в JSON, поэтому клиент должен его допускать
+        mockMvc.perform(get("/bookings/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", -1))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import ru.practicum.shareit.gateway.user.UserClient;
+import ru.practicum.shareit.api.user.dto.UserDto;
+import ru.practicum.shareit.api.utils.DtoSamples;
+import ru.practicum.shareit.gateway.utils.UpstreamTestData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Встроенный HTTP-сервер отвечает в CBOR, как shareit-server при shareit-server.wire-format=cbor
+class CborWireFormatTest {
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+    private final AtomicReference<String> accept = new AtomicReference<>();
+    private final UserDto user = (UserDto) DtoSamples.create(UserDto.class);
+    private HttpServer server;
+    private UserClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", exchange -> respond(exchange, 200, user));
+        server.createContext("/users/2", exchange ->
+                respond(exchange, 404, Map.of("error", "Пользователь с id = 2 не найден")));
+        server.start();
+
+        RestTemplateBuilder builder = new RestTemplateBuilder()
+                .messageConverters(new MappingJackson2HttpMessageConverter(jsonMapper),
+                        new MappingJackson2CborHttpMessageConverter(cborMapper))
+                .additionalInterceptors(new CborAcceptInterceptor());
+        client = new UserClient("http://localhost:" + server.getAddress().getPort(), builder,
+                UpstreamTestData.createGuardFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldRequestCborWithJsonFallback() {
+        client.getUser(1);
+
+        assertEquals("application/cbor, application/json;q=0.5", accept.get());
+    }
+
+    @Test
+    void shouldDecodeCborResponse() {
+        ResponseEntity<Object> response = client.getUser(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(user, jsonMapper.convertValue(response.getBody(), UserDto.class));
+        // тело уйдёт наружу в JSON, заголовки формата сервера передавать нельзя
+        assertNull(response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void shouldDecodeCborError() {
+        ResponseEntity<Object> response = client.getUser(2);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(Map.of("error", "Пользователь с id = 2 не найден"), response.getBody());
+    }
+
+    @Test
+    void shouldRoundTripEveryDtoThroughCbor() throws Exception {
+        for (Class<?> dtoClass : DtoSamples.findDtoClasses("ru.practicum.shareit.api")) {
+            Object dto = DtoSamples.create(dtoClass);
+
+            byte[] cbor = cborMapper.writeValueAsBytes(dto);
+            String json = jsonMapper.writeValueAsString(dto);
+
+            assertEquals(dto, cborMapper.readValue(cbor, dtoClass), dtoClass.getName());
+
+            JsonNode fromCbor = jsonMapper.valueToTree(cborMapper.readValue(cbor, Object.class));
+            assertEquals(jsonMapper.readTree(json), fromCbor, dtoClass.getName());
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        accept.set(exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT));
+        byte[] bytes = cborMapper.writeValueAsBytes(body);
+
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/cbor");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.gateway.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    private final CircuitBreaker breaker = new CircuitBreaker(10, 4, 0.5, 1000, 2, clock::get);
+
+    @Test
+    void shouldStayClosedUntilMinimumCalls() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, breaker.tryAcquire());
+            breaker.onFailure();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateExceedsThreshold() {
+        fail(2);
+        succeed(1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1000, breaker.tryAcquire());
+
+        clock.addAndGet(400);
+
+        assertEquals(600, breaker.tryAcquire());
+    }
+
+    @Test
+    void shouldForgetOutcomesOutsideWindow() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.5, 1000, 1, clock::get);
+
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        // первая неудача вытесняется из окна: в нём снова одна неудача из четырёх
+        breaker.onSuccess();
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulProbes() {
+        fail(4);
+        clock.addAndGet(1000);
+
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(0, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        // пробных вызовов не больше двух
+        assertTrue(breaker.tryAcquire() > 0);
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        // окно после закрытия начинается заново
+        fail(3);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        fail(4);
+        clock.addAndGet(1000);
+
+        assertEquals(0, breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(1000, breaker.tryAcquire());
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(10, 20, 0.5, 1000, 1, clock::get));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(10, 5, 0, 1000, 1, clock::get));
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.tryAcquire();
+            breaker.onFailure();
+        }
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.tryAcquire();
+            breaker.onSuccess();
+        }
+    }
+}
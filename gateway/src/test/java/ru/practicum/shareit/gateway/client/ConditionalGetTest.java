@@ -0,0 +1,100 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import ru.practicum.shareit.gateway.user.UserClient;
+import ru.practicum.shareit.api.user.dto.UserDto;
+import ru.practicum.shareit.api.utils.DtoSamples;
+import ru.practicum.shareit.gateway.utils.UpstreamTestData;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Встроенный HTTP-сервер сверяет If-None-Match с текущим ETag, как shareit-server
+class ConditionalGetTest {
+    private static final String ETAG = "\"users-1\"";
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+    private final UserDto user = (UserDto) DtoSamples.create(UserDto.class);
+    private HttpServer server;
+    private UserClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users/1", this::respond);
+        server.start();
+
+        RestTemplateBuilder builder = new RestTemplateBuilder()
+                .messageConverters(new MappingJackson2HttpMessageConverter(jsonMapper));
+        client = new UserClient("http://localhost:" + server.getAddress().getPort(), builder,
+                UpstreamTestData.createGuardFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldPassEntityTagOfFullResponse() {
+        ResponseEntity<Object> response = client.getUser(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(ifNoneMatch.get());
+    }
+
+    @Test
+    void shouldForwardIfNoneMatchAndPassNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        ResponseEntity<Object> response = client.getUser(1);
+
+        assertEquals(ETAG, ifNoneMatch.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertNull(response.getBody());
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        ifNoneMatch.set(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        exchange.getResponseHeaders().set(HttpHeaders.ETAG, ETAG);
+
+        if (ETAG.equals(ifNoneMatch.get())) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+
+        byte[] bytes = jsonMapper.writeValueAsBytes(user);
+
+        exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
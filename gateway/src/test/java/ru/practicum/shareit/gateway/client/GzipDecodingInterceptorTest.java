@@ -0,0 +1,84 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipDecodingInterceptorTest {
+    private static final String JSON = "[{\"id\":1,\"name\":\"Дрель\"},{\"id\":2,\"name\":\"Отвёртка\"}]";
+
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+    private HttpServer server;
+    private RestTemplate rest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+            byte[] body = gzip(JSON);
+
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        // как в режиме shareit-server.http2=true
+        rest = new RestTemplate(new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .build()));
+        rest.getInterceptors().add(new GzipDecodingInterceptor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldRequestAndDecodeGzip() {
+        ResponseEntity<List<Map<String, Object>>> response = rest.exchange(
+                "http://localhost:" + server.getAddress().getPort() + "/items",
+                HttpMethod.GET, null, new ParameterizedTypeReference<>() {
+                });
+
+        assertEquals("gzip", acceptEncoding.get());
+        assertEquals(2, response.getBody().size());
+        assertEquals("Отвёртка", response.getBody().get(1).get("name"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private static byte[] gzip(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        return bytes.toByteArray();
+    }
+}
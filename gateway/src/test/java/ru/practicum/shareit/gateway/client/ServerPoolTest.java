@@ -0,0 +1,254 @@
+package ru.practicum.shareit.gateway.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Несколько встроенных HTTP-серверов на случайных портах вместо экземпляров shareit-server
+class ServerPoolTest {
+    private static final int SERVERS = 3;
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final List<AtomicInteger> hits = new ArrayList<>();
+    private final List<AtomicInteger> statuses = new ArrayList<>();
+    private final List<AtomicInteger> healthStatuses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        for (int i = 0; i < SERVERS; i++) {
+            AtomicInteger hit = new AtomicInteger();
+            AtomicInteger status = new AtomicInteger(200);
+            AtomicInteger healthStatus = new AtomicInteger(200);
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+            server.createContext("/users", exchange -> {
+                hit.incrementAndGet();
+                respond(exchange, status.get(), "{}");
+            });
+            server.createContext("/actuator/health", exchange ->
+                    respond(exchange, healthStatus.get(), "{\"status\":\"UP\"}"));
+            server.start();
+
+            servers.add(server);
+            hits.add(hit);
+            statuses.add(status);
+            healthStatuses.add(healthStatus);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void shouldSpreadRequestsAcrossServers() {
+        RestTemplate rest = createClient(createPool(false, 5));
+
+        for (int i = 0; i < 300; i++) {
+            rest.getForEntity("/1", String.class);
+        }
+
+        hits.forEach(hit -> assertTrue(hit.get() > 50, "Неравномерное распределение: " + hits));
+    }
+
+    @Test
+    void shouldPreferLessLoadedServer() {
+        ServerPool pool = createPool(false, 5);
+        ServerEndpoint loaded = pool.getEndpoints().get(0);
+        ServerEndpoint idle = pool.getEndpoints().get(1);
+        ServerEndpoint overloaded = pool.getEndpoints().get(2);
+
+        loaded.getOutstanding().set(10);
+        overloaded.getOutstanding().set(100);
+
+        int idleChosen = 0;
+        for (int i = 0; i < 300; i++) {
+            ServerEndpoint chosen = pool.choose(null);
+
+            // самый загруженный проигрывает любому сопернику
+            assertNotEquals(overloaded, chosen);
+            if (chosen == idle) {
+                idleChosen++;
+            }
+        }
+
+        // свободный узел попадает в пару в 2/3 случаев и всегда выигрывает
+        assertTrue(idleChosen > 150, "Свободный узел выбран " + idleChosen + " раз из 300");
+    }
+
+    @Test
+    void shouldEjectServerAfterConsecutiveFailures() {
+        RestTemplate rest = createClient(createPool(false, 3));
+        statuses.get(0).set(500);
+
+        int failures = 0;
+        for (int i = 0; i < 100; i++) {
+            try {
+                rest.getForEntity("/1", String.class);
+            } catch (HttpServerErrorException e) {
+                failures++;
+            }
+        }
+
+        assertEquals(3, failures);
+        assertEquals(3, hits.get(0).get());
+    }
+
+    @Test
+    void shouldNotEjectLastAvailableServer() {
+        ServerPool pool = createPool(false, 1);
+
+        statuses.forEach(status -> status.set(500));
+        RestTemplate rest = createClient(pool);
+
+        for (int i = 0; i < 30; i++) {
+            assertThrows(HttpServerErrorException.class, () -> rest.getForEntity("/1", String.class));
+        }
+
+        long available = pool.getEndpoints().stream()
+                .filter(endpoint -> endpoint.isAvailable(System.nanoTime()))
+                .count();
+
+        assertEquals(1, available);
+    }
+
+    @Test
+    void shouldSkipServerThatFailsHealthCheck() {
+        ServerPool pool = createPool(false, 5);
+        RestTemplate rest = createClient(pool);
+
+        healthStatuses.get(1).set(503);
+        servers.get(2).stop(0);
+        pool.checkHealth();
+
+        for (int i = 0; i < 20; i++) {
+            rest.getForEntity("/1", String.class);
+        }
+
+        assertEquals(20, hits.get(0).get());
+
+        healthStatuses.get(1).set(200);
+        pool.checkHealth();
+
+        for (int i = 0; i < 100; i++) {
+            rest.getForEntity("/1", String.class);
+        }
+
+        assertTrue(hits.get(1).get() > 0);
+    }
+
+    @Test
+    void shouldKeepUserOnSameServerWhenHashingByUser() {
+        RestTemplate rest = createClient(createPool(true, 5));
+
+        for (int i = 0; i < 20; i++) {
+            getAsUser(rest, 42);
+        }
+
+        assertEquals(1, hits.stream().filter(hit -> hit.get() > 0).count());
+        assertEquals(20, hits.stream().mapToInt(AtomicInteger::get).sum());
+
+        // разные пользователи расходятся по узлам
+        for (int userId = 0; userId < 100; userId++) {
+            getAsUser(rest, userId);
+        }
+
+        hits.forEach(hit -> assertTrue(hit.get() > 0));
+    }
+
+    @Test
+    void shouldSpreadRequestsWithoutUserWhenHashingByUser() {
+        RestTemplate rest = createClient(createPool(true, 5));
+
+        for (int i = 0; i < 300; i++) {
+            rest.getForEntity("/1", String.class);
+        }
+
+        hits.forEach(hit -> assertTrue(hit.get() > 50, "Неравномерное распределение: " + hits));
+    }
+
+    @Test
+    void shouldMoveOnlyUsersOfFailedServer() {
+        ServerPool pool = createPool(true, 5);
+        Map<Integer, ServerEndpoint> before = new HashMap<>();
+
+        for (int userId = 0; userId < 100; userId++) {
+            before.put(userId, pool.choose(String.valueOf(userId)));
+        }
+
+        healthStatuses.get(0).set(503);
+        pool.checkHealth();
+
+        ServerEndpoint failed = pool.getEndpoints().get(0);
+
+        before.forEach((userId, endpoint) -> {
+            if (endpoint != failed) {
+                assertEquals(endpoint, pool.choose(String.valueOf(userId)));
+            } else {
+                assertNotEquals(failed, pool.choose(String.valueOf(userId)));
+            }
+        });
+    }
+
+    private ServerPool createPool(boolean hashByUser, int ejectionFailures) {
+        List<String> urls = servers.stream()
+                .map(server -> "http://localhost:" + server.getAddress().getPort())
+                .toList();
+
+        return new ServerPool(urls, hashByUser, ejectionFailures, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+    }
+
+    // Как в клиентах шлюза: URI строится от shareit-server.url, адрес узла подставляет перехватчик
+    private static RestTemplate createClient(ServerPool pool) {
+        RestTemplate rest = new RestTemplate();
+
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/users"));
+        rest.getInterceptors().add(new LoadBalancingInterceptor(pool));
+
+        return rest;
+    }
+
+    private static void getAsUser(RestTemplate rest, int userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+
+        ResponseEntity<String> response = rest.exchange("/1", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertTrue(response.getStatusCode().is2xxSuccessful());
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.gateway.client;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import ru.practicum.shareit.gateway.user.UserClient;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability(metrics = false)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class TracePropagationTest {
+    private final UserClient userClient;
+
+    @Test
+    void shouldPropagateTraceContextToServer() {
+        RestTemplate rest = (RestTemplate) ReflectionTestUtils.getField(userClient, "rest");
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andExpect(header("traceparent", matchesPattern("00-[0-9a-f]{32}-[0-9a-f]{16}-01")))
+                .andRespond(withStatus(HttpStatus.OK));
+
+        ResponseEntity<Object> response = userClient.getUser(1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        server.verify();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import ru.practicum.shareit.gateway.exception.UpstreamUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamGuardTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldRejectWhenBulkheadIsFull() throws Exception {
+        UpstreamGuard guard = new UpstreamGuard("items", 1, Duration.ZERO,
+                new CircuitBreaker(10, 5, 0.5, TimeUnit.SECONDS.toNanos(10), 1, System::nanoTime), meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Object>> slow = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            started.countDown();
+            await(release);
+            return ResponseEntity.ok().build();
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        UpstreamUnavailableException ex = assertThrows(UpstreamUnavailableException.class,
+                () -> guard.execute(() -> ResponseEntity.ok().build()));
+
+        assertNull(ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get(UpstreamGuard.METRIC_PREFIX + "bulkhead.active")
+                .tag("client", "items").gauge().value());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        assertEquals(200, guard.execute(() -> ResponseEntity.ok().build()).getStatusCode().value());
+        assertEquals(1, meterRegistry.get(UpstreamGuard.METRIC_PREFIX + "rejected")
+                .tags("client", "items", "reason", "bulkhead").counter().count());
+    }
+
+    @Test
+    void shouldOpenBreakerOnServerErrorsAndFailFast() {
+        UpstreamGuard guard = new UpstreamGuard("bookings", 10, Duration.ZERO,
+                new CircuitBreaker(4, 2, 0.5, TimeUnit.SECONDS.toNanos(10), 1, System::nanoTime), meterRegistry);
+
+        // ответы 4xx — ошибка клиента, сервер исправен
+        guard.execute(() -> ResponseEntity.notFound().build());
+        guard.execute(() -> ResponseEntity.badRequest().build());
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getState());
+
+        guard.execute(() -> ResponseEntity.internalServerError().build());
+        assertThrows(ResourceAccessException.class, () -> guard.execute(() -> {
+            throw new ResourceAccessException("Read timed out");
+        }));
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+
+        UpstreamUnavailableException ex = assertThrows(UpstreamUnavailableException.class,
+                () -> guard.execute(() -> fail("Запрос не должен уйти на сервер")));
+
+        assertEquals(10, ex.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get(UpstreamGuard.METRIC_PREFIX + "breaker.state")
+                .tag("client", "bookings").gauge().value());
+        assertEquals(1, meterRegistry.get(UpstreamGuard.METRIC_PREFIX + "rejected")
+                .tags("client", "bookings", "reason", "breaker").counter().count());
+        assertEquals(0, meterRegistry.get(UpstreamGuard.METRIC_PREFIX + "bulkhead.active")
+                .tag("client", "bookings").gauge().value());
+    }
+
+    @Test
+    void shouldReopenBreakerWhenProbeThrowsError() {
+        AtomicLong clock = new AtomicLong();
+        UpstreamGuard guard = new UpstreamGuard("requests", 10, Duration.ZERO,
+                new CircuitBreaker(2, 2, 0.5, 1000, 1, clock::get), meterRegistry);
+
+        guard.execute(() -> ResponseEntity.internalServerError().build());
+        guard.execute(() -> ResponseEntity.internalServerError().build());
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+
+        clock.addAndGet(1000);
+        assertThrows(StackOverflowError.class, () -> guard.execute(() -> {
+            throw new StackOverflowError();
+        }));
+
+        // пробный запрос завершился неудачей, а не занял единственное разрешение навсегда
+        assertEquals(CircuitBreaker.State.OPEN, guard.getState());
+        clock.addAndGet(1000);
+        assertEquals(200, guard.execute(() -> ResponseEntity.ok().build()).getStatusCode().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
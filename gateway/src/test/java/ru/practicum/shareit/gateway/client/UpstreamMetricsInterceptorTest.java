@@ -0,0 +1,79 @@
+package ru.practicum.shareit.gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class UpstreamMetricsInterceptorTest {
+    private MeterRegistry meterRegistry;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(meterRegistry));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldRecordUpstreamLatencyByGatewayRoute() {
+        MockHttpServletRequest gatewayRequest = new MockHttpServletRequest("GET", "/bookings/owner");
+        gatewayRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/bookings/owner");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(gatewayRequest));
+
+        server.expect(requestTo("http://localhost:9090/bookings/owner"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+
+        restTemplate.getForEntity("http://localhost:9090/bookings/owner", String.class);
+
+        Timer timer = meterRegistry.get(UpstreamMetricsInterceptor.METRIC_NAME)
+                .tag("route", "/bookings/owner")
+                .tag("method", "GET")
+                .tag("status", "200")
+                .timer();
+
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void shouldRecordErrorStatusOutsideOfGatewayRequest() {
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThrows(HttpClientErrorException.class,
+                () -> restTemplate.getForEntity("http://localhost:9090/users/1", String.class));
+
+        Timer timer = meterRegistry.get(UpstreamMetricsInterceptor.METRIC_NAME)
+                .tag("route", "UNKNOWN")
+                .tag("status", "404")
+                .timer();
+
+        assertEquals(1, timer.count());
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.utils.DtoSamples;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeImageConfigTest {
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void shouldRegisterEveryApiDtoForBinding() throws Exception {
+        new NativeImageConfig.ApiDtoHints().registerHints(hints, getClass().getClassLoader());
+
+        List<Class<?>> dtoClasses = DtoSamples.findDtoClasses(NativeImageConfig.API_PACKAGE);
+        assertFalse(dtoClasses.isEmpty());
+
+        for (Class<?> type : dtoClasses) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type.arrayType()).test(hints), type.getName());
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type)
+                    .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints), type.getName());
+        }
+
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BookingDto.class.getMethod("getStart")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(NewUserDto.class.getDeclaredField("email"))
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BookingStatus.class).test(hints));
+    }
+}
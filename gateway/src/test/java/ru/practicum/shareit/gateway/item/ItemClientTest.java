@@ -10,13 +10,16 @@ import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplateHandler;
-import ru.practicum.shareit.gateway.item.dto.CommentDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDto;
-import ru.practicum.shareit.gateway.item.dto.UpdateItemDto;
-import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.gateway.utils.ItemTestData;
 import ru.practicum.shareit.gateway.utils.UserTestData;
+import ru.practicum.shareit.gateway.utils.UpstreamTestData;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -56,7 +59,7 @@ class ItemClientTest {
         };
 
         String url = "http://localhost:9090/users";
-        itemClient = new ItemClient(url, builder);
+        itemClient = new ItemClient(url, builder, UpstreamTestData.createGuardFactory());
     }
 
     @Test
@@ -69,7 +72,7 @@ class ItemClientTest {
                 eq(""),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(ItemDto.class)
         )).thenReturn(new ResponseEntity<>(savedItem, HttpStatus.CREATED));
 
         ResponseEntity<Object> actualResponse = itemClient.createItem(savedItem.getOwnerId(), request);
@@ -81,13 +84,13 @@ class ItemClientTest {
 
     @Test
     void shouldGetItem() {
-        ItemDto item = ItemTestData.createItemDto();
+        ItemDetailedDto item = ItemTestData.createItemDetailedDto();
 
         when(restTemplate.exchange(
                 eq("/" + item.getId()),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(ItemDetailedDto.class)
         )).thenReturn(ResponseEntity.ok(item));
 
         ResponseEntity<Object> actualResponse = itemClient.getItem(item.getOwnerId(), item.getId());
@@ -99,22 +102,22 @@ class ItemClientTest {
 
     @Test
     void shouldGetItems() {
-        ItemDto item1 = ItemTestData.createItemDto();
-        ItemDto item2 = ItemTestData.createItemDto();
+        ItemDetailedDto item1 = ItemTestData.createItemDetailedDto();
+        ItemDetailedDto item2 = ItemTestData.createItemDetailedDto();
         item2.setOwnerId(item1.getOwnerId());
 
         when(restTemplate.exchange(
                 eq(""),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
-        )).thenReturn(ResponseEntity.ok(List.of(item1, item2)));
+                eq(ItemDetailedDto[].class)
+        )).thenReturn(ResponseEntity.ok(new ItemDetailedDto[]{item1, item2}));
 
         ResponseEntity<Object> actualResponse = itemClient.getItems(item1.getOwnerId());
 
         assertNotNull(actualResponse);
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
-        assertEquals(List.of(item1, item2), actualResponse.getBody());
+        assertArrayEquals(new ItemDetailedDto[]{item1, item2}, (ItemDetailedDto[]) actualResponse.getBody());
     }
 
     @Test
@@ -128,15 +131,15 @@ class ItemClientTest {
                 eq("/search?text={text}"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class),
+                eq(ItemDto[].class),
                 eq(Map.of("text", text))
-        )).thenReturn(ResponseEntity.ok(List.of(item1, item2)));
+        )).thenReturn(ResponseEntity.ok(new ItemDto[]{item1, item2}));
 
         ResponseEntity<Object> actualResponse = itemClient.searchItems(item1.getOwnerId(), text);
 
         assertNotNull(actualResponse);
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
-        assertEquals(List.of(item1, item2), actualResponse.getBody());
+        assertArrayEquals(new ItemDto[]{item1, item2}, (ItemDto[]) actualResponse.getBody());
     }
 
     @Test
@@ -152,7 +155,7 @@ class ItemClientTest {
                 eq("/" + updatedItem.getId()),
                 eq(HttpMethod.PATCH),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(ItemDto.class)
         )).thenReturn(ResponseEntity.ok(updatedItem));
 
         ResponseEntity<Object> actualResponse =
@@ -174,7 +177,7 @@ class ItemClientTest {
                 eq("/" + item.getId() + "/comment"),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(CommentDto.class)
         )).thenReturn(new ResponseEntity<>(savedComment, HttpStatus.CREATED));
 
         ResponseEntity<Object> actualResponse =
@@ -185,6 +188,43 @@ class ItemClientTest {
         assertEquals(savedComment, actualResponse.getBody());
     }
 
+    @Test
+    void shouldGetFirstPageOfComments() {
+        CommentDto comment = new CommentDto();
+        comment.setId(1);
+
+        when(restTemplate.exchange(
+                eq("/1/comments?size={size}"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(CommentDto[].class),
+                eq(Map.of("size", 20))
+        )).thenReturn(ResponseEntity.ok(new CommentDto[]{comment}));
+
+        ResponseEntity<Object> actualResponse = itemClient.getComments(1, 1, null, null, 20);
+
+        assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
+        assertArrayEquals(new CommentDto[]{comment}, (CommentDto[]) actualResponse.getBody());
+    }
+
+    @Test
+    void shouldGetCommentsAfterCursor() {
+        LocalDateTime before = LocalDateTime.of(2025, 1, 1, 12, 0, 30);
+
+        when(restTemplate.exchange(
+                eq("/1/comments?before={before}&beforeId={beforeId}&size={size}"),
+                eq(HttpMethod.GET),
+                any(HttpEntity.class),
+                eq(CommentDto[].class),
+                eq(Map.of("before", "2025-01-01T12:00:30", "beforeId", 5, "size", 10))
+        )).thenReturn(ResponseEntity.ok(new CommentDto[0]));
+
+        ResponseEntity<Object> actualResponse = itemClient.getComments(1, 1, before, 5, 10);
+
+        assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
+        assertArrayEquals(new CommentDto[0], (CommentDto[]) actualResponse.getBody());
+    }
+
     private HttpHeaders defaultHeaders(Integer userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
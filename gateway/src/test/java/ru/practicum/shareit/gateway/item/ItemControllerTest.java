@@ -8,18 +8,21 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.gateway.item.dto.CommentDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDto;
-import ru.practicum.shareit.gateway.item.dto.UpdateItemDto;
+import ru.practicum.shareit.gateway.exception.UpstreamUnavailableException;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 import ru.practicum.shareit.gateway.utils.ItemTestData;
 import ru.practicum.shareit.gateway.utils.RandomUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -30,6 +33,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -167,6 +171,19 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.length()").value(2));
     }
 
+    @Test
+    void shouldFailFastWhenServerIsUnavailable() throws Exception {
+        when(itemClient.searchItems(anyInt(), anyString()))
+                .thenThrow(new UpstreamUnavailableException("Сервер временно недоступен (items)", Duration.ofSeconds(7)));
+
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("text", "search"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.error").value("Сервер временно недоступен (items)"));
+    }
+
     @Test
     void shouldNotGetItemsForUnknownUser() throws Exception {
         when(itemClient.getItems(anyInt()))
@@ -313,6 +330,42 @@ class ItemControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void shouldGetComments() throws Exception {
+        LocalDateTime before = LocalDateTime.now().withNano(0);
+        CommentDto comment = ItemTestData.createNewCommentDto();
+        comment.setId(1);
+
+        when(itemClient.getComments(1, 2, before, 3, 10))
+                .thenReturn(new ResponseEntity<>(List.of(comment), HttpStatus.OK));
+
+        mockMvc.perform(get("/items/2/comments")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("before", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(before))
+                        .param("beforeId", "3")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void shouldNotGetCommentsWithIncompleteCursor() throws Exception {
+        mockMvc.perform(get("/items/2/comments")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("beforeId", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 101})
+    void shouldNotGetCommentsWithInvalidPageSize(int size) throws Exception {
+        mockMvc.perform(get("/items/2/comments")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnBadRequestIfUserHeaderIsMissing() throws Exception {
         mockMvc.perform(post("/items")
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import ru.practicum.shareit.gateway.user.UserClient;
+import ru.practicum.shareit.gateway.user.UserController;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@WebMvcTest(controllers = UserController.class, properties = {
+        "shareit.rate-limit.burst=2",
+        "shareit.rate-limit.refill-per-second=1"})
+@Import(SimpleMeterRegistry.class)
+class RateLimitInterceptorTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void shouldRejectRequestsOverLimitWithRetryAfter() throws Exception {
+        when(userClient.getUser(anyInt())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/users/1").header("X-Sharer-User-Id", 100))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/2").header("X-Sharer-User-Id", 100))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users/3").header("X-Sharer-User-Id", 100))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.error").exists());
+
+        // у другого пользователя своя корзина
+        mockMvc.perform(get("/users/3").header("X-Sharer-User-Id", 101))
+                .andExpect(status().isOk());
+
+        verify(userClient, times(3)).getUser(anyInt());
+        assertEquals(1, meterRegistry.get(RateLimitInterceptor.METRIC_NAME + ".rejected")
+                .tag("route", "GET /users/{userId}").counter().count());
+    }
+}
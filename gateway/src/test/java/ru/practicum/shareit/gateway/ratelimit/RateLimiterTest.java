@@ -0,0 +1,116 @@
+package ru.practicum.shareit.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldAllowBurstAndThenReject() {
+        RateLimiter rateLimiter = new RateLimiter(3, 10, 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("1"));
+        }
+
+        // следующий токен появится через 1/10 секунды
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), rateLimiter.tryAcquire("1"));
+    }
+
+    @Test
+    void shouldRefillTokensOverTime() {
+        RateLimiter rateLimiter = new RateLimiter(2, 10, 100, clock::get);
+
+        rateLimiter.tryAcquire("1");
+        rateLimiter.tryAcquire("1");
+        assertNotEquals(0, rateLimiter.tryAcquire("1"));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(0, rateLimiter.tryAcquire("1"));
+        assertNotEquals(0, rateLimiter.tryAcquire("1"));
+
+        // за долгий простой копится не больше burst токенов
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertEquals(0, rateLimiter.tryAcquire("1"));
+        assertEquals(0, rateLimiter.tryAcquire("1"));
+        assertNotEquals(0, rateLimiter.tryAcquire("1"));
+    }
+
+    @Test
+    void shouldLimitKeysIndependently() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 100, clock::get);
+
+        assertEquals(0, rateLimiter.tryAcquire("1 GET /items"));
+        assertNotEquals(0, rateLimiter.tryAcquire("1 GET /items"));
+        assertEquals(0, rateLimiter.tryAcquire("2 GET /items"));
+        assertEquals(0, rateLimiter.tryAcquire("1 GET /bookings"));
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxKeys() {
+        RateLimiter rateLimiter = new RateLimiter(1, 1, 10, clock::get);
+
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire(String.valueOf(i));
+        }
+
+        assertTrue(rateLimiter.size() <= 10);
+    }
+
+    @Test
+    void shouldEvictFullBucketsFirst() {
+        RateLimiter rateLimiter = new RateLimiter(2, 1, 2, clock::get);
+
+        rateLimiter.tryAcquire("idle");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        rateLimiter.tryAcquire("busy");
+        rateLimiter.tryAcquire("busy");
+
+        // корзина idle уже полная и удаляется, а опустевшая busy остаётся
+        rateLimiter.tryAcquire("new");
+
+        assertEquals(2, rateLimiter.size());
+        assertNotEquals(0, rateLimiter.tryAcquire("busy"));
+    }
+
+    @Test
+    void shouldNotGrantMoreThanBurstConcurrently() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(100, 1, 100, clock::get);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int thread = 0; thread < 8; thread++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (rateLimiter.tryAcquire("1") == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void shouldRejectNonPositiveSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0, 1));
+    }
+}
@@ -13,11 +13,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplateHandler;
-import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
-import ru.practicum.shareit.gateway.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.gateway.utils.ItemRequestTestData;
+import ru.practicum.shareit.gateway.utils.UpstreamTestData;
 
-import java.util.List;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,7 +55,7 @@ class ItemRequestClientTest {
         };
 
         String url = "http://localhost:9090/users";
-        requestClient = new ItemRequestClient(url, builder);
+        requestClient = new ItemRequestClient(url, builder, UpstreamTestData.createGuardFactory());
     }
 
     @Test
@@ -68,7 +68,7 @@ class ItemRequestClientTest {
                 eq(""),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(ItemRequestShortDto.class)
         )).thenReturn(new ResponseEntity<>(savedRequest, HttpStatus.CREATED));
 
         ResponseEntity<Object> actualResponse = requestClient.createRequest(request.getRequestorId(), request);
@@ -88,33 +88,34 @@ class ItemRequestClientTest {
                 eq(""),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
-        )).thenReturn(ResponseEntity.ok(List.of(request1, request2)));
+                eq(ItemRequestDto[].class)
+        )).thenReturn(ResponseEntity.ok(new ItemRequestDto[]{request1, request2}));
 
         ResponseEntity<Object> actualResponse = requestClient.getAllUsersRequests(request1.getRequestorId());
 
         assertNotNull(actualResponse);
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
-        assertEquals(List.of(request1, request2), actualResponse.getBody());
+        assertArrayEquals(new ItemRequestDto[]{request1, request2}, (ItemRequestDto[]) actualResponse.getBody());
     }
 
     @Test
     void shouldGetAllRequests() {
-        ItemRequestDto request1 = ItemRequestTestData.createItemRequestDto();
-        ItemRequestDto request2 = ItemRequestTestData.createItemRequestDto();
+        ItemRequestShortDto request1 = ItemRequestTestData.createItemRequestShortDto();
+        ItemRequestShortDto request2 = ItemRequestTestData.createItemRequestShortDto();
 
         when(restTemplate.exchange(
                 eq("/all"),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
-        )).thenReturn(ResponseEntity.ok(List.of(request1, request2)));
+                eq(ItemRequestShortDto[].class)
+        )).thenReturn(ResponseEntity.ok(new ItemRequestShortDto[]{request1, request2}));
 
         ResponseEntity<Object> actualResponse = requestClient.getAllRequests(1);
 
         assertNotNull(actualResponse);
         assertEquals(HttpStatus.OK, actualResponse.getStatusCode());
-        assertEquals(List.of(request1, request2), actualResponse.getBody());
+        assertArrayEquals(new ItemRequestShortDto[]{request1, request2},
+                (ItemRequestShortDto[]) actualResponse.getBody());
     }
 
     @Test
@@ -125,7 +126,7 @@ class ItemRequestClientTest {
                 eq("/" + request.getId()),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(ItemRequestDto.class)
         )).thenReturn(ResponseEntity.ok(request));
 
         ResponseEntity<Object> actualResponse = requestClient.getRequest(1, request.getId());
@@ -14,8 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
-import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
-import ru.practicum.shareit.gateway.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.gateway.utils.ItemRequestTestData;
 
 import java.time.LocalDateTime;
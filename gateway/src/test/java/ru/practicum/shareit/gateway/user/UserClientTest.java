@@ -10,10 +10,11 @@ import org.springframework.http.*;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriTemplateHandler;
-import ru.practicum.shareit.gateway.user.dto.UpdateUserDto;
-import ru.practicum.shareit.gateway.user.dto.NewUserDto;
-import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.gateway.utils.UserTestData;
+import ru.practicum.shareit.gateway.utils.UpstreamTestData;
 
 import java.util.List;
 import java.util.function.Supplier;
@@ -52,7 +53,7 @@ class UserClientTest {
         };
 
         String url = "http://localhost:9090/users";
-        userClient = new UserClient(url, builder);
+        userClient = new UserClient(url, builder, UpstreamTestData.createGuardFactory());
     }
 
     @Test
@@ -64,7 +65,7 @@ class UserClientTest {
                 eq(""),
                 eq(HttpMethod.POST),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(UserDto.class)
         )).thenReturn(new ResponseEntity<>(body, HttpStatus.CREATED));
 
         ResponseEntity<Object> actualResponse = userClient.createUser(request);
@@ -82,7 +83,7 @@ class UserClientTest {
                 eq("/" + user.getId()),
                 eq(HttpMethod.GET),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(UserDto.class)
         )).thenReturn(ResponseEntity.ok(user));
 
         ResponseEntity<Object> actualResponse = userClient.getUser(user.getId());
@@ -104,7 +105,7 @@ class UserClientTest {
                 eq("/" + updatedUser.getId()),
                 eq(HttpMethod.PATCH),
                 any(HttpEntity.class),
-                eq(Object.class)
+                eq(UserDto.class)
         )).thenReturn(ResponseEntity.ok(updatedUser));
 
         ResponseEntity<Object> actualResponse = userClient.updateUser(updatedUser.getId(), request);
@@ -13,9 +13,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.gateway.user.dto.UpdateUserDto;
-import ru.practicum.shareit.gateway.user.dto.NewUserDto;
-import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.gateway.utils.UserTestData;
 
 import static org.mockito.ArgumentMatchers.any;
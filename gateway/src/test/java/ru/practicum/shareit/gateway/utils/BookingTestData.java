@@ -2,10 +2,10 @@ package ru.practicum.shareit.gateway.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.gateway.booking.dto.BookingDto;
-import ru.practicum.shareit.gateway.booking.dto.NewBookingDto;
-import ru.practicum.shareit.gateway.booking.model.BookingStatus;
-import ru.practicum.shareit.gateway.item.dto.ItemDto;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.api.item.dto.ItemDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
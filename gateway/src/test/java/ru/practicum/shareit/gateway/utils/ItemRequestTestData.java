@@ -2,8 +2,8 @@ package ru.practicum.shareit.gateway.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.gateway.request.dto.ItemRequestDto;
-import ru.practicum.shareit.gateway.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
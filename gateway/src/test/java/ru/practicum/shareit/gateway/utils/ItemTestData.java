@@ -2,11 +2,11 @@ package ru.practicum.shareit.gateway.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.gateway.item.dto.CommentDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.gateway.item.dto.ItemDto;
-import ru.practicum.shareit.gateway.item.dto.UpdateItemDto;
-import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
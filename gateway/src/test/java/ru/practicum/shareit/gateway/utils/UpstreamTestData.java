@@ -0,0 +1,17 @@
+package ru.practicum.shareit.gateway.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.gateway.client.UpstreamGuardFactory;
+
+import java.time.Duration;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UpstreamTestData {
+    // настройки по умолчанию из application.properties
+    public static UpstreamGuardFactory createGuardFactory() {
+        return new UpstreamGuardFactory(20, Duration.ofMillis(50), 50, 20, 50, Duration.ofSeconds(10), 3,
+                new SimpleMeterRegistry());
+    }
+}
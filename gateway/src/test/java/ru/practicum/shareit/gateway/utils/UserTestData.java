@@ -2,9 +2,9 @@ package ru.practicum.shareit.gateway.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.gateway.user.dto.UpdateUserDto;
-import ru.practicum.shareit.gateway.user.dto.NewUserDto;
-import ru.practicum.shareit.gateway.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 
 import java.util.Random;
 
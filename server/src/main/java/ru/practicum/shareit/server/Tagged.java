@@ -0,0 +1,5 @@
+package ru.practicum.shareit.server;
+
+// Тело ответа и ETag, посчитанный по той же выборке
+public record Tagged<T>(String entityTag, T body) {
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.server.booking;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ru.practicum.shareit.server.booking.model.BookingBoundaryEvent;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.server.booking.model.BookingTimes;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+import ru.practicum.shareit.server.timer.HashedTimingWheel;
+import ru.practicum.shareit.server.timer.Timeout;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Публикует BookingBoundaryEvent в моменты начала и окончания бронирований,
+// чтобы производные данные (счётчики, карточки предметов) обновлялись без пересчёта при чтении
+@Slf4j
+@Component
+public class BookingBoundaryScheduler {
+    private final BookingRepository bookingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HashedTimingWheel wheel;
+    private final Map<Integer, BookingTimeouts> timeouts = new ConcurrentHashMap<>();
+
+    public BookingBoundaryScheduler(BookingRepository bookingRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${shareit.booking-timers.tick:1s}") Duration tick,
+                                    @Value("${shareit.booking-timers.wheel-size:4096}") int wheelSize,
+                                    MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.eventPublisher = eventPublisher;
+        this.wheel = new HashedTimingWheel("booking-timers", tick, wheelSize);
+
+        Gauge.builder("shareit.booking.timers", wheel, HashedTimingWheel::size).register(meterRegistry);
+    }
+
+    // Колесо живёт только в памяти, поэтому при старте таймеры восстанавливаются из БД
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        AtomicLong count = new AtomicLong();
+
+        try (Stream<BookingTimes> bookings = bookingRepository.streamByEndAfter(LocalDateTime.now())) {
+            bookings.forEach(booking -> {
+                schedule(booking);
+                count.incrementAndGet();
+            });
+        }
+
+        log.info("Восстановлены таймеры для {} бронирований", count.get());
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        // статус на границы бронирования не влияет
+        if (event.isCreated()) {
+            schedule(new BookingTimes(event.bookingId(), event.itemId(), event.ownerId(), event.start(),
+                    event.end()));
+        }
+    }
+
+    @EventListener
+    public void onBookingDeleted(BookingDeletedEvent event) {
+        cancel(event.bookingId());
+    }
+
+    // Бронирование создано или удалено другим экземпляром: перечитываем его границы
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.isBookingChange()) {
+            bookingRepository.findTimesById(event.bookingId())
+                    .ifPresentOrElse(this::schedule, () -> cancel(event.bookingId()));
+        }
+    }
+
+    public void cancel(int bookingId) {
+        BookingTimeouts removed = timeouts.remove(bookingId);
+
+        if (removed != null) {
+            removed.cancel();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.close();
+    }
+
+    private void schedule(BookingTimes booking) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!booking.end().isAfter(now)) {
+            return;
+        }
+
+        BookingTimeouts bookingTimeouts = new BookingTimeouts();
+
+        if (booking.start().isAfter(now)) {
+            bookingTimeouts.start = wheel.schedule(() -> publish(booking, BookingBoundaryEvent.Type.START),
+                    Duration.between(now, booking.start()));
+        }
+
+        bookingTimeouts.end = wheel.schedule(() -> {
+            timeouts.remove(booking.bookingId(), bookingTimeouts);
+            publish(booking, BookingBoundaryEvent.Type.END);
+        }, Duration.between(now, booking.end()));
+
+        // повторное планирование (например, событие пришло во время восстановления) заменяет прежние таймеры
+        BookingTimeouts previous = timeouts.put(booking.bookingId(), bookingTimeouts);
+
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void publish(BookingTimes booking, BookingBoundaryEvent.Type type) {
+        LocalDateTime at = type == BookingBoundaryEvent.Type.START ? booking.start() : booking.end();
+
+        eventPublisher.publishEvent(new BookingBoundaryEvent(booking.bookingId(), booking.itemId(),
+                booking.ownerId(), type, at));
+    }
+
+    private static final class BookingTimeouts {
+        private volatile Timeout start;
+        private volatile Timeout end;
+
+        private void cancel() {
+            if (start != null) {
+                start.cancel();
+            }
+
+            if (end != null) {
+                end.cancel();
+            }
+        }
+    }
+}
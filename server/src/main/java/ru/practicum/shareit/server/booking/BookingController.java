@@ -2,13 +2,20 @@ package ru.practicum.shareit.server.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -16,6 +23,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingEventEmitters bookingEventEmitters;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -37,10 +45,24 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingDto getBooking(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                 @PathVariable int bookingId) {
+                                 @PathVariable int bookingId,
+                                 WebRequest webRequest) {
         log.debug("server: GET /bookings/{}", bookingId);
         log.debug("server: X-Sharer-User-Id = {}", userId);
-        return bookingService.findById(userId, bookingId);
+        // Версии читаются отдельным запросом только для условного GET, чтобы ответить 304, не загружая связи;
+        // иначе ETag считается по тем же строкам, что и тело ответа
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = bookingService.findEntityTag(userId, bookingId);
+
+            if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+                log.debug("server: бронирование с id = {} не изменилось", bookingId);
+                return null;
+            }
+        }
+
+        Tagged<BookingDto> booking = bookingService.findTaggedById(userId, bookingId);
+
+        return webRequest.checkNotModified(booking.entityTag()) ? null : booking.body();
     }
 
     @GetMapping
@@ -58,4 +80,18 @@ public class BookingController {
         log.debug("server: X-Sharer-User-Id = {}", userId);
         return bookingService.findAllByOwnerId(userId, state);
     }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerSummary(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+        log.debug("server: GET /bookings/owner/summary");
+        log.debug("server: X-Sharer-User-Id = {}", userId);
+        return bookingService.getOwnerSummary(userId);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToEvents(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+        log.debug("server: GET /bookings/events");
+        log.debug("server: X-Sharer-User-Id = {}", userId);
+        return bookingEventEmitters.subscribe(userId);
+    }
 }
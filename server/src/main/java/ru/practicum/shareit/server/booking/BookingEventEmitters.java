@@ -0,0 +1,109 @@
+package ru.practicum.shareit.server.booking;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import ru.practicum.shareit.server.booking.dto.BookingEventDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+// Открытые SSE-подписки пользователей на события бронирований
+@Slf4j
+@Component
+public class BookingEventEmitters {
+    private final Map<Integer, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    // SseEmitter.send блокируется на медленном клиенте: отправка идёт в своём потоке, а не в потоке
+    // планировщика, общем с другими задачами. Один поток сохраняет порядок событий каждого подписчика
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-events-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookingEventEmitters(@Value("${shareit.booking-events.emitter-timeout:30m}") Duration timeout,
+                                MeterRegistry meterRegistry) {
+        this.timeoutMillis = timeout.toMillis();
+
+        Gauge.builder("shareit.booking.events.subscribers", emitters,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(int userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        emitters.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(emitter);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(ex -> remove(userId, emitter));
+
+        log.debug("Пользователь с id = {} подписался на события бронирований", userId);
+
+        return emitter;
+    }
+
+    public void send(int userId, BookingEventDto event) {
+        if (!emitters.containsKey(userId)) {
+            return;
+        }
+
+        sender.execute(() -> deliver(userId, () -> SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getType())
+                .data(event, MediaType.APPLICATION_JSON)));
+    }
+
+    // Комментарий-пинг держит соединение открытым через прокси и выявляет отключившихся клиентов
+    @Scheduled(fixedRateString = "${shareit.booking-events.heartbeat-interval:15000}")
+    public void heartbeat() {
+        emitters.keySet().forEach(userId ->
+                sender.execute(() -> deliver(userId, () -> SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void completeAll() {
+        sender.shutdownNow();
+        emitters.values().forEach(userEmitters -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    // Builder накапливает текст события при сборке, поэтому для каждого соединения он новый
+    private void deliver(int userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> userEmitters = emitters.get(userId);
+
+        if (userEmitters == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException ex) {
+                // клиент отключился
+                remove(userId, emitter);
+            }
+        }
+    }
+
+    private void remove(int userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import ru.practicum.shareit.server.booking.dto.BookingEventDto;
+import ru.practicum.shareit.server.booking.mapper.BookingMapper;
+import ru.practicum.shareit.server.booking.model.BookingEvent;
+import ru.practicum.shareit.server.cluster.OutboxCursor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+// Переносит события из outbox-таблицы подписчикам этого экземпляра. Каждый экземпляр читает таблицу
+// со своего курсора и рассылает только своим SseEmitter, поэтому события не удаляются после рассылки:
+// их удаляет cleanup() по истечении срока хранения
+@Slf4j
+@Component
+public class BookingEventRelay {
+    private final BookingEventRepository bookingEventRepository;
+    private final BookingEventEmitters bookingEventEmitters;
+    private final int batchSize;
+    private final Duration retention;
+    private final OutboxCursor cursor;
+
+    public BookingEventRelay(BookingEventRepository bookingEventRepository,
+                             BookingEventEmitters bookingEventEmitters,
+                             @Value("${shareit.booking-events.batch-size:100}") int batchSize,
+                             @Value("${shareit.booking-events.gap-timeout:10s}") Duration gapTimeout,
+                             @Value("${shareit.booking-events.retention:10m}") Duration retention) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.bookingEventEmitters = bookingEventEmitters;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.cursor = new OutboxCursor(gapTimeout);
+    }
+
+    // Без транзакции: чтение идёт короткими транзакциями репозитория, отправка в SseEmitter — вне их
+    @Scheduled(fixedDelayString = "${shareit.booking-events.poll-interval:1000}")
+    public synchronized void relay() {
+        if (!cursor.isStarted()) {
+            // Подписчики экземпляра появятся только после старта, прошлые события им не нужны
+            cursor.start(bookingEventRepository.findMaxId());
+            log.debug("Курсор событий бронирований: {}", cursor.position());
+            return;
+        }
+
+        List<BookingEvent> events = bookingEventRepository.findByIdGreaterThanOrderByIdAsc(cursor.position(),
+                Limit.of(batchSize));
+        List<BookingEvent> late = findLateEvents();
+
+        events.forEach(event -> cursor.advance(event.getId()));
+
+        late.forEach(this::send);
+        events.forEach(this::send);
+
+        if (!events.isEmpty() || !late.isEmpty()) {
+            log.debug("Разослано событий бронирований: {}, с опозданием: {}", events.size(), late.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-events.cleanup-interval:60000}")
+    public void cleanup() {
+        int deleted = bookingEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+
+        if (deleted > 0) {
+            log.debug("Удалено устаревших событий бронирований: {}", deleted);
+        }
+    }
+
+    private List<BookingEvent> findLateEvents() {
+        List<Long> gaps = cursor.gaps();
+
+        if (gaps.isEmpty()) {
+            return List.of();
+        }
+
+        List<BookingEvent> late = bookingEventRepository.findAllById(gaps).stream()
+                .sorted(Comparator.comparing(BookingEvent::getId))
+                .toList();
+
+        cursor.resolve(late.stream().map(BookingEvent::getId).toList());
+
+        return late;
+    }
+
+    private void send(BookingEvent event) {
+        BookingEventDto dto = BookingMapper.toBookingEventDto(event);
+
+        bookingEventEmitters.send(event.getOwnerId(), dto);
+
+        if (!event.getBookerId().equals(event.getOwnerId())) {
+            bookingEventEmitters.send(event.getBookerId(), dto);
+        }
+    }
+}
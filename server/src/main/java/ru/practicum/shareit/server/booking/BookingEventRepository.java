@@ -0,0 +1,27 @@
+package ru.practicum.shareit.server.booking;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import ru.practicum.shareit.server.booking.model.BookingEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    // Очередная пачка событий после курсора экземпляра в порядке записи
+    List<BookingEvent> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(event.id), 0) FROM BookingEvent event")
+    long findMaxId();
+
+    // События читают все экземпляры, поэтому они удаляются по сроку хранения, а не после рассылки
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BookingEvent event WHERE event.created < ?1")
+    int deleteCreatedBefore(LocalDateTime created);
+}
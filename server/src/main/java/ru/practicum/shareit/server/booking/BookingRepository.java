@@ -1,14 +1,23 @@
 package ru.practicum.shareit.server.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import ru.practicum.shareit.server.booking.model.Booking;
-import ru.practicum.shareit.server.booking.model.BookingStatus;
+import ru.practicum.shareit.server.booking.model.BookingCounts;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.server.booking.model.BookingTimes;
+import ru.practicum.shareit.server.booking.model.BookingVersions;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Integer> {
 
@@ -19,6 +28,10 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
     // Запрос завершённых бронирований
     List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(int bookerId, LocalDateTime end);
 
+    // Есть ли у пользователя завершённая подтверждённая аренда предмета (право оставить отзыв)
+    boolean existsByBookerIdAndItemIdAndEndBeforeAndStatus(int bookerId, int itemId, LocalDateTime end,
+                                                           BookingStatus status);
+
     // Запрос предстоящих бронирований
     List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(int bookerId, LocalDateTime start);
 
@@ -45,4 +58,42 @@ public interface BookingRepository extends JpaRepository<Booking, Integer> {
     List<Booking> findByItemIdOrderByStart(int itemId);
 
     List<Booking> findByItemIdInOrderByStart(Collection<Integer> itemIds);
+
+    // Количество бронирований владельцев по состояниям одним проходом
+    @Query("SELECT new ru.practicum.shareit.server.booking.model.BookingCounts(booking.item.owner.id, " +
+            "COUNT(booking), " +
+            "SUM(CASE WHEN booking.status = ?2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN booking.status = ?3 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN booking.start <= ?4 AND booking.end >= ?4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN booking.start > ?4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN booking.end < ?4 THEN 1 ELSE 0 END)) " +
+            "FROM Booking booking WHERE booking.item.owner.id IN ?1 " +
+            "GROUP BY booking.item.owner.id")
+    List<BookingCounts> countByOwnerIds(Collection<Integer> ownerIds, BookingStatus waiting,
+                                        BookingStatus rejected, LocalDateTime now);
+
+    // Незавершённые бронирования читаются потоком: их могут быть миллионы
+    @Query("SELECT new ru.practicum.shareit.server.booking.model.BookingTimes(booking.id, booking.item.id, " +
+            "booking.item.owner.id, booking.start, booking.end) " +
+            "FROM Booking booking WHERE booking.end > ?1")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<BookingTimes> streamByEndAfter(LocalDateTime now);
+
+    @Query("SELECT new ru.practicum.shareit.server.booking.model.BookingTimes(booking.id, booking.item.id, " +
+            "booking.item.owner.id, booking.start, booking.end) " +
+            "FROM Booking booking WHERE booking.id = ?1")
+    Optional<BookingTimes> findTimesById(int bookingId);
+
+    // Решение по бронированию принимается один раз: меняется только ожидающее бронирование.
+    // Возвращает число изменённых строк; 0 — статус уже изменил другой запрос
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking booking SET booking.status = ?2, booking.version = booking.version + 1 " +
+            "WHERE booking.id = ?1 AND booking.status = ?3")
+    int updateStatusIfCurrent(int bookingId, BookingStatus status, BookingStatus current);
+
+    // Для ETag: версии без загрузки самих сущностей
+    @Query("SELECT new ru.practicum.shareit.server.booking.model.BookingVersions(booker.id, item.owner.id, " +
+            "booking.version, item.version, booker.version) " +
+            "FROM Booking booking JOIN booking.item item JOIN booking.booker booker WHERE booking.id = ?1")
+    Optional<BookingVersions> findVersionsById(int bookingId);
 }
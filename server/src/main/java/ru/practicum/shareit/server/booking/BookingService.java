@@ -1,9 +1,12 @@
 package ru.practicum.shareit.server.booking;
 
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
 
@@ -13,7 +16,13 @@ public interface BookingService {
 
     BookingDto findById(int userId, int bookingId);
 
+    Tagged<BookingDto> findTaggedById(int userId, int bookingId);
+
+    Optional<String> findEntityTag(int userId, int bookingId);
+
     List<BookingDto> findAllByBookerId(int bookerId, String state);
 
     List<BookingDto> findAllByOwnerId(int ownerId, String state);
+
+    BookingSummaryDto getOwnerSummary(int ownerId);
 }
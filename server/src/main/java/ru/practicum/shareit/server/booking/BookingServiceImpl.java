@@ -1,16 +1,23 @@
 package ru.practicum.shareit.server.booking;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
 import ru.practicum.shareit.server.booking.mapper.BookingMapper;
 import ru.practicum.shareit.server.booking.model.Booking;
-import ru.practicum.shareit.server.booking.model.BookingStatus;
-import ru.practicum.shareit.server.booking.model.BookingState;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingEventType;
+import ru.practicum.shareit.server.booking.model.BookingVersions;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.api.booking.model.BookingState;
 import ru.practicum.shareit.server.exception.*;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.model.Item;
@@ -27,14 +34,18 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final BookingEventRepository bookingEventRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BookingSummaryCounters bookingSummaryCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
+    @Timed(value = "shareit.service", histogram = true)
     public BookingDto createBooking(int bookerId, NewBookingDto request) {
-        log.debug("Запрос на бронирование предмета с id = {} от пользователя с id = {}: {}",
-                bookerId, request.getItemId(), request);
+        log.debug("Запрос на бронирование предмета с id = {} от пользователя с id = {}",
+                request.getItemId(), bookerId);
 
         User booker = findAndGetUser(bookerId);
         Optional<Item> maybeItem = itemRepository.findById(request.getItemId());
@@ -54,13 +65,16 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = BookingMapper.toNewBooking(booker, item, request);
 
         booking = bookingRepository.save(booking);
-        log.debug("Добавлено бронирование: {}", booking);
+        bookingEventRepository.save(BookingMapper.toBookingEvent(booking, BookingEventType.CREATED));
+        eventPublisher.publishEvent(BookingMapper.toBookingChangedEvent(booking, null));
+        log.debug("Добавлено бронирование с id = {}", booking.getId());
 
         return BookingMapper.toBookingDto(booking);
     }
 
     @Override
     @Transactional
+    @Timed(value = "shareit.service", histogram = true)
     public BookingDto changeBookingStatus(int userId, int bookingId, boolean approved) {
         log.debug("Запрос на изменение статуса бронирования с id = {} от пользователя с id = {}", bookingId, userId);
 
@@ -85,9 +99,24 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException(String.format(ExceptionConstants.USER_NOT_FOUND_BY_ID, userId));
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
-        booking.setStatus(newStatus);
-        booking = bookingRepository.save(booking);
+
+        if (previousStatus != BookingStatus.WAITING) {
+            log.warn("Статус бронирования с id = {} уже изменён на {}", bookingId, previousStatus);
+            throw new BookingStatusConflictException(String.format(ExceptionConstants.BOOKING_ALREADY_DECIDED,
+                    bookingId, previousStatus));
+        }
+
+        // Условное обновление вместо read-modify-write: из параллельных решений владельца применится одно
+        if (bookingRepository.updateStatusIfCurrent(bookingId, newStatus, BookingStatus.WAITING) == 0) {
+            log.warn("Статус бронирования с id = {} изменён параллельным запросом", bookingId);
+            throw new BookingStatusConflictException(ExceptionConstants.CONCURRENT_MODIFICATION);
+        }
+
+        booking = bookingRepository.findById(bookingId).orElseThrow();
+        bookingEventRepository.save(BookingMapper.toBookingEvent(booking, BookingEventType.STATUS_CHANGED));
+        eventPublisher.publishEvent(BookingMapper.toBookingChangedEvent(booking, previousStatus));
 
         log.debug("Изменён статус бронирования на {}", newStatus);
 
@@ -96,7 +125,15 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public BookingDto findById(int userId, int bookingId) {
+        return findTaggedById(userId, bookingId).body();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public Tagged<BookingDto> findTaggedById(int userId, int bookingId) {
         log.debug("Запрос на получение бронирования с id = {} от пользователя с id = {}", bookingId, userId);
 
         User user = findAndGetUser(userId);
@@ -116,13 +153,23 @@ public class BookingServiceImpl implements BookingService {
             throw new NoAccessException("Нет доступа на просмотр бронирования");
         }
 
-        log.debug("Бронирование: {}", booking);
+        return new Tagged<>(BookingVersions.of(booking).toEntityTag(), BookingMapper.toBookingDto(booking));
+    }
 
-        return BookingMapper.toBookingDto(booking);
+    // Пусто, если бронирования нет или оно недоступно пользователю:
+    // запрос пойдёт обычным путём и получит 404 или 403
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public Optional<String> findEntityTag(int userId, int bookingId) {
+        return bookingRepository.findVersionsById(bookingId)
+                .filter(versions -> versions.bookerId().equals(userId) || versions.ownerId().equals(userId))
+                .map(BookingVersions::toEntityTag);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public List<BookingDto> findAllByBookerId(int bookerId, String state) {
         log.debug("Запрос всех бронирований пользователя с id = {} со статусом {}", bookerId, state);
 
@@ -174,6 +221,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public List<BookingDto> findAllByOwnerId(int ownerId, String state) {
         log.debug("Запрос всех бронирований владельца предметов с id = {} со статусом {}", ownerId, state);
 
@@ -224,6 +272,17 @@ public class BookingServiceImpl implements BookingService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public BookingSummaryDto getOwnerSummary(int ownerId) {
+        log.debug("Запрос сводки по бронированиям владельца предметов с id = {}", ownerId);
+
+        findAndGetUser(ownerId);
+
+        return bookingSummaryCounters.getSummary(ownerId);
+    }
+
     private User findAndGetUser(int userId) {
         Optional<User> maybeUser = userRepository.findById(userId);
 
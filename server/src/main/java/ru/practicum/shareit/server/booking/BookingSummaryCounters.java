@@ -0,0 +1,249 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.server.booking.model.BookingBoundaryEvent;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingCounts;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.api.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Счётчики бронирований по владельцам: загружаются при первом запросе,
+// затем меняются по событиям бронирований и их границ и периодически сверяются с таблицей bookings.
+// Хранятся не больше max-size владельцев; не запрашивавшиеся дольше idle-timeout удаляются при сверке
+@Slf4j
+@Component
+public class BookingSummaryCounters {
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final Map<Integer, OwnerCounters> counters = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+
+    public BookingSummaryCounters(BookingRepository bookingRepository,
+                                  @Value("${shareit.booking-summary.max-size:10000}") int maxSize,
+                                  @Value("${shareit.booking-summary.idle-timeout:30m}") Duration idleTimeout) {
+        this.bookingRepository = bookingRepository;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public BookingSummaryDto getSummary(int ownerId) {
+        OwnerCounters ownerCounters = counters.get(ownerId);
+
+        if (ownerCounters == null) {
+            LocalDateTime now = LocalDateTime.now();
+            ownerCounters = load(List.of(ownerId), now).getOrDefault(ownerId, new OwnerCounters(now));
+
+            if (counters.size() >= maxSize) {
+                evictAny();
+            }
+
+            OwnerCounters existing = counters.putIfAbsent(ownerId, ownerCounters);
+            ownerCounters = existing != null ? existing : ownerCounters;
+        }
+
+        ownerCounters.lastAccess = System.nanoTime();
+        return ownerCounters.toDto();
+    }
+
+    // Откатившиеся транзакции счётчики не меняют
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        OwnerCounters ownerCounters = counters.get(event.ownerId());
+
+        // незагруженный владелец получит актуальные значения из БД при первом запросе
+        if (ownerCounters == null) {
+            return;
+        }
+
+        if (event.isCreated()) {
+            ownerCounters.increment(BookingState.ALL);
+            ownerCounters.increment(timeState(event, LocalDateTime.now()));
+        } else {
+            ownerCounters.decrement(statusState(event.previousStatus()));
+        }
+
+        ownerCounters.increment(statusState(event.status()));
+    }
+
+    @EventListener
+    public void onBookingBoundary(BookingBoundaryEvent event) {
+        OwnerCounters ownerCounters = counters.get(event.ownerId());
+
+        // граница, наступившая до загрузки, уже учтена запросом к БД
+        if (ownerCounters == null || !event.at().isAfter(ownerCounters.loadedAt)) {
+            return;
+        }
+
+        if (event.type() == BookingBoundaryEvent.Type.START) {
+            ownerCounters.decrement(BookingState.FUTURE);
+            ownerCounters.increment(BookingState.CURRENT);
+        } else {
+            ownerCounters.decrement(BookingState.CURRENT);
+            ownerCounters.increment(BookingState.PAST);
+        }
+    }
+
+    // Счётчики владельца перезагрузятся из БД при следующем запросе
+    @EventListener
+    public void onBookingDeleted(BookingDeletedEvent event) {
+        counters.remove(event.ownerId());
+    }
+
+    // Изменения других экземпляров не повторяем по дельте: счётчики владельца перезагрузятся из БД
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        if (event.isBookingChange()) {
+            counters.remove(event.ownerId());
+        }
+    }
+
+    // Сверка исправляет расхождения из-за гонок загрузки с параллельными изменениями
+    @Scheduled(fixedDelayString = "${shareit.booking-summary.reconcile-interval:300000}",
+            initialDelayString = "${shareit.booking-summary.reconcile-interval:300000}")
+    public void reconcile() {
+        long idleSince = System.nanoTime() - idleTimeoutNanos;
+        int evicted = 0;
+
+        for (Iterator<OwnerCounters> iterator = counters.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().lastAccess - idleSince < 0) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+
+        List<Integer> ownerIds = new ArrayList<>(counters.keySet());
+
+        for (int from = 0; from < ownerIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Integer> chunk = ownerIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, ownerIds.size()));
+            LocalDateTime now = LocalDateTime.now();
+            Map<Integer, OwnerCounters> actual = load(chunk, now);
+
+            for (Integer ownerId : chunk) {
+                OwnerCounters current = counters.get(ownerId);
+
+                // владелец мог быть удалён или перезагружен, пока шёл запрос
+                if (current != null) {
+                    OwnerCounters reconciled = actual.getOrDefault(ownerId, new OwnerCounters(now));
+                    reconciled.lastAccess = current.lastAccess;
+                    counters.replace(ownerId, current, reconciled);
+                }
+            }
+        }
+
+        log.debug("Сверены счётчики бронирований для {} владельцев, удалено неиспользуемых: {}",
+                ownerIds.size(), evicted);
+    }
+
+    private void evictAny() {
+        Iterator<Integer> iterator = counters.keySet().iterator();
+
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private Map<Integer, OwnerCounters> load(Collection<Integer> ownerIds, LocalDateTime now) {
+        List<BookingCounts> rows = bookingRepository.countByOwnerIds(ownerIds, BookingStatus.WAITING,
+                BookingStatus.REJECTED, now);
+        Map<Integer, OwnerCounters> result = new HashMap<>();
+
+        for (BookingCounts row : rows) {
+            result.put(row.ownerId(), OwnerCounters.of(row, now));
+        }
+
+        return result;
+    }
+
+    private static BookingState timeState(BookingChangedEvent event, LocalDateTime now) {
+        if (event.start().isAfter(now)) {
+            return BookingState.FUTURE;
+        }
+
+        if (event.end().isBefore(now)) {
+            return BookingState.PAST;
+        }
+
+        return BookingState.CURRENT;
+    }
+
+    private static BookingState statusState(BookingStatus status) {
+        return switch (status) {
+            case WAITING -> BookingState.WAITING;
+            case REJECTED -> BookingState.REJECTED;
+            default -> null;
+        };
+    }
+
+    private static final class OwnerCounters {
+        private final Map<BookingState, LongAdder> values = new EnumMap<>(BookingState.class);
+        // момент, на который счётчики посчитаны в БД
+        private final LocalDateTime loadedAt;
+        // System.nanoTime() последнего запроса сводки
+        private volatile long lastAccess;
+
+        private OwnerCounters(LocalDateTime loadedAt) {
+            this.loadedAt = loadedAt;
+            this.lastAccess = System.nanoTime();
+
+            for (BookingState state : BookingState.values()) {
+                values.put(state, new LongAdder());
+            }
+        }
+
+        private static OwnerCounters of(BookingCounts row, LocalDateTime loadedAt) {
+            OwnerCounters ownerCounters = new OwnerCounters(loadedAt);
+
+            ownerCounters.values.get(BookingState.ALL).add(row.all());
+            ownerCounters.values.get(BookingState.WAITING).add(row.waiting());
+            ownerCounters.values.get(BookingState.REJECTED).add(row.rejected());
+            ownerCounters.values.get(BookingState.CURRENT).add(row.current());
+            ownerCounters.values.get(BookingState.FUTURE).add(row.future());
+            ownerCounters.values.get(BookingState.PAST).add(row.past());
+
+            return ownerCounters;
+        }
+
+        private void increment(BookingState state) {
+            if (state != null) {
+                values.get(state).increment();
+            }
+        }
+
+        private void decrement(BookingState state) {
+            if (state != null) {
+                values.get(state).decrement();
+            }
+        }
+
+        private BookingSummaryDto toDto() {
+            BookingSummaryDto dto = new BookingSummaryDto();
+
+            dto.setAll(values.get(BookingState.ALL).sum());
+            dto.setWaiting(values.get(BookingState.WAITING).sum());
+            dto.setRejected(values.get(BookingState.REJECTED).sum());
+            dto.setCurrent(values.get(BookingState.CURRENT).sum());
+            dto.setFuture(values.get(BookingState.FUTURE).sum());
+            dto.setPast(values.get(BookingState.PAST).sum());
+
+            return dto;
+        }
+    }
+}
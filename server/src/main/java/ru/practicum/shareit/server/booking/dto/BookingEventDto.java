@@ -0,0 +1,13 @@
+package ru.practicum.shareit.server.booking.dto;
+
+import lombok.Data;
+
+@Data
+public class BookingEventDto {
+    private Long id;
+    private Integer bookingId;
+    private Integer itemId;
+    private String type;
+    private String status;
+    private String created;
+}
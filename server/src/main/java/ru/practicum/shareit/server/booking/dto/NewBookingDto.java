@@ -1,10 +0,0 @@
-package ru.practicum.shareit.server.booking.dto;
-
-import lombok.Data;
-
-@Data
-public class NewBookingDto {
-    private Integer itemId;
-    private String start;
-    private String end;
-}
@@ -4,10 +4,15 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.BookingShortDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.server.booking.dto.BookingEventDto;
+import ru.practicum.shareit.api.booking.dto.BookingShortDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingEvent;
+import ru.practicum.shareit.server.booking.model.BookingEventType;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
@@ -25,8 +30,8 @@ public final class BookingMapper {
 
         booking.setBooker(booker);
         booking.setItem(item);
-        booking.setStart(LocalDateTime.parse(request.getStart(), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        booking.setEnd(LocalDateTime.parse(request.getEnd(), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        booking.setStart(request.getStart());
+        booking.setEnd(request.getEnd());
 
         return booking;
     }
@@ -54,4 +59,37 @@ public final class BookingMapper {
 
         return dto;
     }
+
+    public static BookingEvent toBookingEvent(Booking booking, BookingEventType type) {
+        BookingEvent event = new BookingEvent();
+
+        event.setBookingId(booking.getId());
+        event.setItemId(booking.getItem().getId());
+        event.setOwnerId(booking.getItem().getOwner().getId());
+        event.setBookerId(booking.getBooker().getId());
+        event.setType(type);
+        event.setStatus(booking.getStatus());
+        event.setCreated(LocalDateTime.now());
+
+        return event;
+    }
+
+    public static BookingEventDto toBookingEventDto(BookingEvent event) {
+        BookingEventDto dto = new BookingEventDto();
+
+        dto.setId(event.getId());
+        dto.setBookingId(event.getBookingId());
+        dto.setItemId(event.getItemId());
+        dto.setType(event.getType().name());
+        dto.setStatus(event.getStatus().name());
+        dto.setCreated(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(event.getCreated()));
+
+        return dto;
+    }
+
+    public static BookingChangedEvent toBookingChangedEvent(Booking booking, BookingStatus previousStatus) {
+        return new BookingChangedEvent(booking.getId(), booking.getItem().getId(),
+                booking.getItem().getOwner().getId(), booking.getBooker().getId(),
+                booking.getStart(), booking.getEnd(), previousStatus, booking.getStatus());
+    }
 }
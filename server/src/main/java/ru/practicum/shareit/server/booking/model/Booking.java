@@ -3,6 +3,7 @@ package ru.practicum.shareit.server.booking.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.model.User;
 
@@ -38,4 +39,9 @@ public class Booking {
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
     private BookingStatus status = BookingStatus.WAITING;
+
+    // оптимистическая блокировка; версия также входит в ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.server.booking.model;
+
+import java.time.LocalDateTime;
+
+// Наступило начало или окончание бронирования
+public record BookingBoundaryEvent(Integer bookingId, Integer itemId, Integer ownerId, Type type, LocalDateTime at) {
+
+    public enum Type {
+        START,
+        END
+    }
+}
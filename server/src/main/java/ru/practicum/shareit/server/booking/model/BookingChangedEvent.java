@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.booking.model;
+
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Публикуется внутри транзакции; previousStatus == null для нового бронирования
+public record BookingChangedEvent(Integer bookingId, Integer itemId, Integer ownerId, Integer bookerId,
+                                  LocalDateTime start, LocalDateTime end,
+                                  BookingStatus previousStatus, BookingStatus status) {
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
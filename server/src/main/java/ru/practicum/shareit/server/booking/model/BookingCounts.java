@@ -0,0 +1,6 @@
+package ru.practicum.shareit.server.booking.model;
+
+// Результат агрегирующего запроса по бронированиям владельца
+public record BookingCounts(Integer ownerId, Long all, Long waiting, Long rejected,
+                            Long current, Long future, Long past) {
+}
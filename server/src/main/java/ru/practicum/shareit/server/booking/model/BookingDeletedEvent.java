@@ -0,0 +1,5 @@
+package ru.practicum.shareit.server.booking.model;
+
+// Публикуется после фиксации удаления бронирования (при очистке данных удалённого пользователя)
+public record BookingDeletedEvent(Integer bookingId, Integer itemId, Integer ownerId) {
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.server.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+
+// Запись outbox: сохраняется в одной транзакции с бронированием, удаляется по истечении срока хранения
+@Entity
+@Table(name = "booking_events")
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = {"id"})
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "booking_id")
+    private Integer bookingId;
+
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(name = "owner_id")
+    private Integer ownerId;
+
+    @Column(name = "booker_id")
+    private Integer bookerId;
+
+    @Column(name = "event_type")
+    @Enumerated(EnumType.STRING)
+    private BookingEventType type;
+
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @Column(name = "date_created")
+    private LocalDateTime created;
+}
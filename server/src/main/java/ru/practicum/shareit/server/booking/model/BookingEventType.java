@@ -0,0 +1,6 @@
+package ru.practicum.shareit.server.booking.model;
+
+public enum BookingEventType {
+    CREATED,
+    STATUS_CHANGED
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.server.booking.model;
+
+import java.time.LocalDateTime;
+
+// Границы бронирования для восстановления таймеров
+public record BookingTimes(Integer bookingId, Integer itemId, Integer ownerId,
+                           LocalDateTime start, LocalDateTime end) {
+}
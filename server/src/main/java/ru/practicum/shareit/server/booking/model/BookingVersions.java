@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.booking.model;
+
+// Версии всего, что входит в BookingDto, и участники бронирования для проверки доступа
+public record BookingVersions(Integer bookerId, Integer ownerId, Long version, Long itemVersion,
+                              Long bookerVersion) {
+
+    public static BookingVersions of(Booking booking) {
+        return new BookingVersions(booking.getBooker().getId(), booking.getItem().getOwner().getId(),
+                booking.getVersion(), booking.getItem().getVersion(), booking.getBooker().getVersion());
+    }
+
+    public String toEntityTag() {
+        return "bookings-" + version + "-" + itemVersion + "-" + bookerVersion;
+    }
+}
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.server.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.server.cluster.model.CacheEvent;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+// Доносит изменения до кешей других экземпляров сервера (ItemViewCache, BookingSummaryCounters,
+// BookingBoundaryScheduler). Локальные события записываются в outbox в транзакции изменения;
+// каждый экземпляр читает таблицу со своего курсора и публикует RemoteChangeEvent для чужих записей
+@Slf4j
+@Component
+public class CacheEventRelay {
+    private final String origin = UUID.randomUUID().toString();
+    private final CacheEventRepository cacheEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration retention;
+    private final OutboxCursor cursor;
+
+    public CacheEventRelay(CacheEventRepository cacheEventRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${shareit.cache-events.batch-size:500}") int batchSize,
+                           @Value("${shareit.cache-events.gap-timeout:10s}") Duration gapTimeout,
+                           @Value("${shareit.cache-events.retention:10m}") Duration retention) {
+        this.cacheEventRepository = cacheEventRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.cursor = new OutboxCursor(gapTimeout);
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        save(event.itemId(), null, null);
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        save(event.itemId(), event.bookingId(), event.ownerId());
+    }
+
+    // Публикуется после фиксации очистки, поэтому запись идёт отдельной транзакцией репозитория
+    @EventListener
+    public void onBookingDeleted(BookingDeletedEvent event) {
+        save(event.itemId(), event.bookingId(), event.ownerId());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.cache-events.poll-interval:1000}")
+    public synchronized void relay() {
+        if (!cursor.isStarted()) {
+            // кеши экземпляра заполняются уже после старта, прошлые изменения им не нужны
+            cursor.start(cacheEventRepository.findMaxId());
+            log.debug("Курсор событий кешей: {}", cursor.position());
+            return;
+        }
+
+        List<CacheEvent> events = cacheEventRepository.findByIdGreaterThanOrderByIdAsc(cursor.position(),
+                Limit.of(batchSize));
+        List<CacheEvent> late = findLateEvents();
+
+        events.forEach(event -> cursor.advance(event.getId()));
+
+        int applied = publishRemote(late) + publishRemote(events);
+
+        if (applied > 0) {
+            log.debug("Применено изменений других экземпляров: {}", applied);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.cache-events.cleanup-interval:60000}")
+    public void cleanup() {
+        int deleted = cacheEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+
+        if (deleted > 0) {
+            log.debug("Удалено устаревших событий кешей: {}", deleted);
+        }
+    }
+
+    private void save(Integer itemId, Integer bookingId, Integer ownerId) {
+        CacheEvent event = new CacheEvent();
+
+        event.setOrigin(origin);
+        event.setItemId(itemId);
+        event.setBookingId(bookingId);
+        event.setOwnerId(ownerId);
+        event.setCreated(LocalDateTime.now());
+
+        cacheEventRepository.save(event);
+    }
+
+    private List<CacheEvent> findLateEvents() {
+        List<Long> gaps = cursor.gaps();
+
+        if (gaps.isEmpty()) {
+            return List.of();
+        }
+
+        List<CacheEvent> late = cacheEventRepository.findAllById(gaps).stream()
+                .sorted(Comparator.comparing(CacheEvent::getId))
+                .toList();
+
+        cursor.resolve(late.stream().map(CacheEvent::getId).toList());
+
+        return late;
+    }
+
+    // Свои записи пропускаем: локальные кеши обновились по исходным событиям
+    private int publishRemote(List<CacheEvent> events) {
+        int published = 0;
+
+        for (CacheEvent event : events) {
+            if (!origin.equals(event.getOrigin())) {
+                eventPublisher.publishEvent(new RemoteChangeEvent(event.getItemId(), event.getBookingId(),
+                        event.getOwnerId()));
+                published++;
+            }
+        }
+
+        return published;
+    }
+}
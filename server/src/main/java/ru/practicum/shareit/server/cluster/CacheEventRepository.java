@@ -0,0 +1,25 @@
+package ru.practicum.shareit.server.cluster;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import ru.practicum.shareit.server.cluster.model.CacheEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CacheEventRepository extends JpaRepository<CacheEvent, Long> {
+
+    List<CacheEvent> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(event.id), 0) FROM CacheEvent event")
+    long findMaxId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CacheEvent event WHERE event.created < ?1")
+    int deleteCreatedBefore(LocalDateTime created);
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.server.cluster;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Курсор экземпляра по outbox-таблице с identity-ключом. Id выдаются до фиксации транзакций,
+// поэтому строка с меньшим id может появиться уже после курсора: такие пропуски ждут не дольше gapTimeout
+public class OutboxCursor {
+    // Предел отслеживаемых пропусков в последовательности id: больший скачок — не пропуск,
+    // а пустая таблица при старте курсора или кэш последовательности
+    private static final int MAX_GAPS = 1000;
+
+    private final Duration gapTimeout;
+    // id последней прочитанной строки; -1 — экземпляр ещё не читал таблицу
+    private long position = -1;
+    private final Map<Long, LocalDateTime> gaps = new HashMap<>();
+
+    public OutboxCursor(Duration gapTimeout) {
+        this.gapTimeout = gapTimeout;
+    }
+
+    public boolean isStarted() {
+        return position >= 0;
+    }
+
+    public void start(long maxId) {
+        position = maxId;
+    }
+
+    public long position() {
+        return position;
+    }
+
+    public List<Long> gaps() {
+        return List.copyOf(gaps.keySet());
+    }
+
+    // Строки из пропусков дочитаны; истёкшие пропуски больше не ждём
+    public void resolve(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+
+        ids.forEach(gaps::remove);
+        gaps.values().removeIf(deadline -> deadline.isBefore(now));
+    }
+
+    public void advance(long id) {
+        if (position > 0 && id - position <= MAX_GAPS) {
+            LocalDateTime deadline = LocalDateTime.now().plus(gapTimeout);
+
+            for (long missing = position + 1; missing < id && gaps.size() < MAX_GAPS; missing++) {
+                gaps.put(missing, deadline);
+            }
+        }
+
+        position = id;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.server.cluster.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Запись outbox об изменении, после которого другие экземпляры сбрасывают свои кеши.
+// Сохраняется в транзакции изменения, удаляется по истечении срока хранения
+@Entity
+@Table(name = "cache_events")
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = {"id"})
+public class CacheEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // экземпляр, который записал событие и уже обновил свои кеши
+    @Column(name = "origin")
+    private String origin;
+
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    // заданы только для событий бронирований
+    @Column(name = "booking_id")
+    private Integer bookingId;
+
+    @Column(name = "owner_id")
+    private Integer ownerId;
+
+    @Column(name = "date_created")
+    private LocalDateTime created;
+}
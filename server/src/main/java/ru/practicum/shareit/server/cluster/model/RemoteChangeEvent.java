@@ -0,0 +1,10 @@
+package ru.practicum.shareit.server.cluster.model;
+
+// Публикуется для изменения, сделанного другим экземпляром; bookingId и ownerId заданы,
+// если изменилось бронирование
+public record RemoteChangeEvent(Integer itemId, Integer bookingId, Integer ownerId) {
+
+    public boolean isBookingChange() {
+        return bookingId != null;
+    }
+}
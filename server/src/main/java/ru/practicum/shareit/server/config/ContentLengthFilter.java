@@ -0,0 +1,173 @@
+package ru.practicum.shareit.server.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+// Jackson пишет ответ без Content-Length, и Tomcat тогда сжимает его независимо от
+// server.compression.min-response-size. Фильтр придерживает начало ответа, но не больше этого порога:
+// уместившийся ответ уходит с Content-Length и без сжатия, больший — потоком, как без фильтра.
+// Асинхронные ответы (SSE) и явный flushBuffer() отправляются сразу
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class ContentLengthFilter extends OncePerRequestFilter {
+    private final int threshold;
+
+    public ContentLengthFilter(@Value("${server.compression.min-response-size:2KB}") DataSize threshold) {
+        this.threshold = (int) threshold.toBytes();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        BoundedBufferResponse wrapper = new BoundedBufferResponse(response, threshold);
+
+        filterChain.doFilter(request, wrapper);
+
+        if (request.isAsyncStarted()) {
+            wrapper.release();
+        } else {
+            wrapper.complete();
+        }
+    }
+
+    private static class BoundedBufferResponse extends HttpServletResponseWrapper {
+        private final int limit;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        // true — порог превышен или ответ отдаётся потоком, запись идёт напрямую
+        private boolean streaming;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        BoundedBufferResponse(HttpServletResponse response, int limit) {
+            super(response);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new BoundedOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            release();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            buffer.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            buffer.reset();
+        }
+
+        void complete() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+
+            if (!streaming && buffer.size() > 0) {
+                if (!isCommitted()) {
+                    setContentLength(buffer.size());
+                }
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        void release() throws IOException {
+            if (streaming) {
+                return;
+            }
+
+            streaming = true;
+            if (buffer.size() > 0) {
+                buffer.writeTo(getResponse().getOutputStream());
+                buffer.reset();
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (!streaming && buffer.size() + length > limit) {
+                release();
+            }
+
+            if (streaming) {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        private class BoundedOutputStream extends ServletOutputStream {
+            @Override
+            public void write(int b) throws IOException {
+                BoundedBufferResponse.this.write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                BoundedBufferResponse.this.write(bytes, offset, length);
+            }
+
+            // Конвертеры сообщений сбрасывают поток после каждого ответа: пока ответ придержан,
+            // сброс ничего не отправляет, иначе Content-Length не выставить
+            @Override
+            public void flush() throws IOException {
+                if (streaming) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    release();
+                    getResponse().getOutputStream().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.server.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// CBOR для внутреннего обмена со шлюзом: выбирается по Accept/Content-Type application/cbor,
+// по умолчанию остаётся JSON. Настройки Jackson (spring.jackson.*) те же, что и у JSON
+@Configuration
+public class WireFormatConfig {
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
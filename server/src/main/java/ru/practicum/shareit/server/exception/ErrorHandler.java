@@ -1,10 +1,13 @@
 package ru.practicum.shareit.server.exception;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+@Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
     @ExceptionHandler(NotFoundException.class)
@@ -19,6 +22,20 @@ public class ErrorHandler {
         return new ErrorMessage(ex.getMessage());
     }
 
+    @ExceptionHandler(BookingStatusConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorMessage handleBookingStatusConflictException(final BookingStatusConflictException ex) {
+        return new ErrorMessage(ex.getMessage());
+    }
+
+    // Версия строки не совпала: её изменил параллельный запрос (например, второе подтверждение бронирования)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorMessage handleOptimisticLockingFailureException(final OptimisticLockingFailureException ex) {
+        log.warn("Конфликт версий: {}", ex.getMessage());
+        return new ErrorMessage(ExceptionConstants.CONCURRENT_MODIFICATION);
+    }
+
     @ExceptionHandler(NoAccessException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorMessage handleNoAccessException(final NoAccessException ex) {
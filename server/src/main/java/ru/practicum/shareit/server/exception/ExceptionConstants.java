@@ -11,5 +11,8 @@ public final class ExceptionConstants {
     public static final String ITEM_NOT_FOUND_BY_ID = "Предмет с id = %d не найден";
 
     public static final String BOOKING_NOT_FOUND_BY_ID = "Бронирование с id = %d не найдено";
+    public static final String BOOKING_ALREADY_DECIDED = "Статус бронирования с id = %d уже изменён на %s";
     public static final String INVALID_BOOKING_STATE = "Некорректное значение статуса для запроса бронирований: %s";
+
+    public static final String CONCURRENT_MODIFICATION = "Данные были изменены параллельным запросом, повторите попытку";
 }
@@ -1,15 +1,34 @@
 package ru.practicum.shareit.server.item;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import ru.practicum.shareit.server.item.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
-    List<Comment> findByItemId(int itemId);
+    // Первая страница: самые новые комментарии (автор нужен для authorName и загружается сразу)
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItemIdOrderByCreatedDescIdDesc(int itemId, Limit limit);
 
-    List<Comment> findByItemIdIn(Collection<Integer> itemIds);
+    // Следующая страница после курсора (created, id) последнего полученного комментария
+    @Query("SELECT comment FROM Comment comment JOIN FETCH comment.author WHERE comment.item.id = ?1 AND " +
+            "(comment.created < ?2 OR (comment.created = ?2 AND comment.id < ?3)) " +
+            "ORDER BY comment.created DESC, comment.id DESC")
+    List<Comment> findByItemIdBefore(int itemId, LocalDateTime created, int id, Limit limit);
+
+    // Не более limit самых новых комментариев для каждого из предметов
+    @Query("SELECT comment FROM Comment comment JOIN FETCH comment.author WHERE comment.id IN (" +
+            "SELECT latest.id FROM (SELECT ranked.id AS id, ROW_NUMBER() OVER (PARTITION BY ranked.item.id " +
+            "ORDER BY ranked.created DESC, ranked.id DESC) AS rn " +
+            "FROM Comment ranked WHERE ranked.item.id IN ?1) latest " +
+            "WHERE latest.rn <= ?2) " +
+            "ORDER BY comment.item.id, comment.created DESC, comment.id DESC")
+    List<Comment> findLatestByItemIdIn(Collection<Integer> itemIds, int limit);
 }
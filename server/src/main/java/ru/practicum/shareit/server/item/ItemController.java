@@ -2,14 +2,18 @@ package ru.practicum.shareit.server.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -30,10 +34,19 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDetailedDto getItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                   @PathVariable int itemId) {
+                                   @PathVariable int itemId,
+                                   WebRequest webRequest) {
         log.debug("server: GET /items/{}", itemId);
         log.debug("server: X-Sharer-User-Id = {}", userId);
-        return itemService.findById(userId, itemId);
+        // ETag хранится вместе с закешированной карточкой, и 304 обходится без запросов к базе
+        Tagged<ItemDetailedDto> item = itemService.findTaggedById(userId, itemId);
+
+        if (webRequest.checkNotModified(item.entityTag())) {
+            log.debug("server: предмет с id = {} не изменился", itemId);
+            return null;
+        }
+
+        return item.body();
     }
 
     @GetMapping
@@ -68,4 +81,16 @@ public class ItemController {
         log.debug("server: X-Sharer-User-Id = {}", userId);
         return itemService.createComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/comments")
+    public List<CommentDto> getComments(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                        @PathVariable int itemId,
+                                        @RequestParam(required = false)
+                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                        @RequestParam(required = false) Integer beforeId,
+                                        @RequestParam(defaultValue = "20") int size) {
+        log.debug("server: GET /items/{}/comments?before={}&beforeId={}&size={}", itemId, before, beforeId, size);
+        log.debug("server: X-Sharer-User-Id = {}", userId);
+        return itemService.findComments(itemId, before, beforeId, size);
+    }
 }
@@ -4,9 +4,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.model.ItemVersions;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
 
@@ -18,7 +21,25 @@ public interface ItemRepository extends JpaRepository<Item, Integer> {
             "OR UPPER(item.description) LIKE UPPER(CONCAT('%', ?1, '%')))")
     List<Item> search(String text);
 
+    @Query("SELECT COUNT(item) > 0 FROM Item item WHERE item.id = ?1 AND item.owner.deletedAt IS NOT NULL")
+    boolean isOwnerDeleted(int itemId);
+
     List<Item> findByRequestId(int requestId);
 
     List<Item> findByRequestIdIn(Collection<Integer> requestIds);
+
+    // Для ETag: одна строка со всеми версиями, из которых собирается карточка предмета
+    @Query("SELECT new ru.practicum.shareit.server.item.model.ItemVersions(item.owner.id, item.version, " +
+            "(SELECT COUNT(comment) FROM Comment comment WHERE comment.item.id = item.id), " +
+            "(SELECT COALESCE(MAX(comment.id), 0) FROM Comment comment WHERE comment.item.id = item.id), " +
+            "(SELECT COALESCE(SUM(comment.author.version), 0L) FROM Comment comment " +
+            "WHERE comment.item.id = item.id), " +
+            "(SELECT COUNT(booking) FROM Booking booking WHERE booking.item.id = item.id), " +
+            "(SELECT COALESCE(MAX(booking.id), 0) FROM Booking booking WHERE booking.item.id = item.id), " +
+            "(SELECT COALESCE(SUM(booking.version), 0L) FROM Booking booking WHERE booking.item.id = item.id), " +
+            "(SELECT COALESCE(SUM(CASE WHEN booking.start <= ?2 THEN 1 ELSE 0 END " +
+            "+ CASE WHEN booking.end < ?2 THEN 1 ELSE 0 END), 0L) " +
+            "FROM Booking booking WHERE booking.item.id = item.id)) " +
+            "FROM Item item WHERE item.id = ?1")
+    Optional<ItemVersions> findVersionsById(int itemId, LocalDateTime now);
 }
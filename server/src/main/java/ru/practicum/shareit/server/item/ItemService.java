@@ -1,10 +1,12 @@
 package ru.practicum.shareit.server.item;
 
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -12,6 +14,8 @@ public interface ItemService {
 
     ItemDetailedDto findById(int userId, int itemId);
 
+    Tagged<ItemDetailedDto> findTaggedById(int userId, int itemId);
+
     List<ItemDetailedDto> findByUserId(int userId);
 
     List<ItemDto> search(String text);
@@ -19,4 +23,6 @@ public interface ItemService {
     ItemDto update(int userId, int itemId, UpdateItemDto request);
 
     CommentDto createComment(int userId, int itemId, CommentDto commentDto);
+
+    List<CommentDto> findComments(int itemId, LocalDateTime before, Integer beforeId, int size);
 }
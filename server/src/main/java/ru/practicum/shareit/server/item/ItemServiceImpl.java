@@ -1,21 +1,30 @@
 package ru.practicum.shareit.server.item;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.booking.BookingRepository;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.exception.*;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 import ru.practicum.shareit.server.item.mapper.CommentMapper;
 import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+import ru.practicum.shareit.server.item.model.ItemVersions;
+import ru.practicum.shareit.server.item.model.ItemView;
 import ru.practicum.shareit.server.user.UserRepository;
 import ru.practicum.shareit.server.user.model.User;
 
@@ -31,20 +40,26 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemViewCache itemViewCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Сколько последних комментариев встраивать в карточку предмета
+    @Value("${shareit.item-view.comments-limit:10}")
+    private int commentsLimit;
 
     @Override
     @Transactional
     public ItemDto createItem(int userId, ItemDto itemDto) {
-        log.debug("Запрос на создание предмета от пользователя с id = {}: {}", userId, itemDto);
+        log.debug("Запрос на создание предмета от пользователя с id = {}", userId);
 
         User user = findAndGetUser(userId);
         Item item = ItemMapper.toNewItem(user, itemDto);
 
         item = itemRepository.save(item);
         if (itemDto.getRequestId() != null) {
-            log.debug("Добавлен предмет на запрос с id = {}: {}", itemDto.getRequestId(), item);
+            log.debug("Добавлен предмет с id = {} на запрос с id = {}", item.getId(), itemDto.getRequestId());
         } else {
-            log.debug("Добавлен предмет: {}", item);
+            log.debug("Добавлен предмет с id = {}", item.getId());
         }
 
         return ItemMapper.toItemDto(item);
@@ -52,30 +67,28 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public ItemDetailedDto findById(int userId, int itemId) {
-        log.debug("Запрос на получение предмета с id = {}", itemId);
-
-        Item item = findAndGetItem(itemId);
-        log.debug("Предмет: {}", item);
-
-        Booking lastBooking = null;
-        Booking nextBooking = null;
+        return findTaggedById(userId, itemId).body();
+    }
 
-        // только для владельца
-        if (item.getOwner().getId().equals(userId)) {
-            List<Booking> bookings = bookingRepository.findByItemIdOrderByStart(itemId);
-            Map<String, Booking> lastAndNext = getLastAndNextBooking(bookings);
-            lastBooking = lastAndNext.get("last");
-            nextBooking = lastAndNext.get("next");
-        }
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public Tagged<ItemDetailedDto> findTaggedById(int userId, int itemId) {
+        log.debug("Запрос на получение предмета с id = {}", itemId);
 
-        List<Comment> comments = commentRepository.findByItemId(itemId);
+        ItemView view = itemViewCache.find(itemId)
+                .orElseGet(() -> buildItemView(itemId));
 
-        return ItemMapper.toItemDetailedDto(item, lastBooking, nextBooking, comments);
+        // last и next бронирования только для владельца
+        return new Tagged<>(view.entityTag(userId),
+                ItemMapper.copyItemDetailedDto(view.item(), view.item().getOwnerId().equals(userId)));
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public List<ItemDetailedDto> findByUserId(int userId) {
         log.debug("Запрос на получение предметов пользователя с id = {}", userId);
 
@@ -90,8 +103,12 @@ public class ItemServiceImpl implements ItemService {
 
         log.debug("Количество предметов: {}", items.size());
 
-        Map<Integer, List<Comment>> commentMap = commentRepository.findByItemIdIn(items.stream()
-                .map(Item::getId).toList()).stream()
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, List<Comment>> commentMap = commentRepository.findLatestByItemIdIn(items.stream()
+                .map(Item::getId).toList(), commentsLimit).stream()
                     .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
         Map<Integer, List<Booking>> bookingMap = bookingRepository.findByItemIdInOrderByStart(items.stream()
                 .map(Item::getId).toList()).stream()
@@ -114,6 +131,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public List<ItemDto> search(String text) {
         if (text == null || text.isBlank()) {
             log.warn("Строка для поиска была пустой");
@@ -146,40 +164,68 @@ public class ItemServiceImpl implements ItemService {
             throw new NoAccessException("Нет доступа на изменение предмета");
         }
 
-        log.debug("Исходное состояние предмета: {}", item);
-
         ItemMapper.updateItemFields(item, request);
         itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
 
-        log.debug("Изменён предмет: {}", item);
+        log.debug("Изменён предмет с id = {}", item.getId());
 
         return ItemMapper.toItemDto(item);
     }
 
     @Override
     @Transactional
+    @Timed(value = "shareit.service", histogram = true)
     public CommentDto createComment(int userId, int itemId, CommentDto commentDto) {
-        log.debug("Запрос на создание отзыва о предмете с id = {} от пользователя с id = {}: {}",
-                itemId, userId, commentDto);
+        log.debug("Запрос на создание отзыва о предмете с id = {} от пользователя с id = {}", itemId, userId);
 
         User user = findAndGetUser(userId);
         Item item = findAndGetItem(itemId);
-        List<Booking> userBookings = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(user.getId(),
-                LocalDateTime.now());
 
-        if (userBookings.stream().noneMatch(booking -> booking.getItem().getId().equals(item.getId()))) {
+        // предмет удалённого владельца ждёт очистки UserPurgeJob
+        if (itemRepository.isOwnerDeleted(item.getId())) {
+            log.warn("Невозможно оставить комментарий (владелец предмета удалён)");
+            throw new NotAvailableException("Невозможно оставить комментарий (владелец предмета удалён)");
+        }
+
+        if (!bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(user.getId(), item.getId(),
+                LocalDateTime.now(), BookingStatus.APPROVED)) {
             log.warn("Невозможно оставить комментарий (нет завершённой аренды)");
             throw new NotAvailableException("Невозможно оставить комментарий (нет завершённой аренды)");
         }
 
         Comment comment = CommentMapper.toComment(user, item, commentDto);
         comment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
 
-        log.debug("Добавлен комментарий: {}", comment);
+        log.debug("Добавлен комментарий с id = {}", comment.getId());
 
         return CommentMapper.toCommentDto(comment);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public List<CommentDto> findComments(int itemId, LocalDateTime before, Integer beforeId, int size) {
+        log.debug("Запрос на получение отзывов о предмете с id = {} (before = {}, beforeId = {}, size = {})",
+                itemId, before, beforeId, size);
+
+        if (!itemRepository.existsById(itemId)) {
+            log.warn(LogConstants.ITEM_NOT_FOUND_BY_ID, itemId);
+            throw new NotFoundException(String.format(ExceptionConstants.ITEM_NOT_FOUND_BY_ID, itemId));
+        }
+
+        List<Comment> comments = before == null || beforeId == null
+                ? commentRepository.findByItemIdOrderByCreatedDescIdDesc(itemId, Limit.of(size))
+                : commentRepository.findByItemIdBefore(itemId, before, beforeId, Limit.of(size));
+
+        log.debug("Количество отзывов: {}", comments.size());
+
+        return comments.stream()
+                .map(CommentMapper::toCommentDto)
+                .toList();
+    }
+
     private User findAndGetUser(int userId) {
         Optional<User> maybeUser = userRepository.findById(userId);
 
@@ -202,6 +248,47 @@ public class ItemServiceImpl implements ItemService {
         return maybeItem.get();
     }
 
+    // Версии читаются первыми: если данные успеют измениться, ETag окажется старее тела и просто не совпадёт
+    private ItemView buildItemView(int itemId) {
+        long generation = itemViewCache.generation(itemId);
+        Optional<ItemVersions> maybeVersions = itemRepository.findVersionsById(itemId, LocalDateTime.now());
+
+        if (maybeVersions.isEmpty()) {
+            log.warn(LogConstants.ITEM_NOT_FOUND_BY_ID, itemId);
+            throw new NotFoundException(String.format(ExceptionConstants.ITEM_NOT_FOUND_BY_ID, itemId));
+        }
+
+        Item item = findAndGetItem(itemId);
+        List<Booking> bookings = bookingRepository.findByItemIdOrderByStart(itemId);
+        Map<String, Booking> lastAndNext = getLastAndNextBooking(bookings);
+        List<Comment> comments = commentRepository.findByItemIdOrderByCreatedDescIdDesc(itemId,
+                Limit.of(commentsLimit));
+
+        ItemView view = new ItemView(ItemMapper.toItemDetailedDto(item, lastAndNext.get("last"),
+                lastAndNext.get("next"), comments), maybeVersions.get());
+        itemViewCache.put(itemId, view, getNextBoundary(bookings), generation);
+
+        return view;
+    }
+
+    // Ближайший момент, когда начнётся или закончится одно из бронирований (и сменятся last/next)
+    private LocalDateTime getNextBoundary(List<Booking> bookings) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime boundary = LocalDateTime.MAX;
+
+        for (Booking booking : bookings) {
+            if (booking.getStart().isAfter(now) && booking.getStart().isBefore(boundary)) {
+                boundary = booking.getStart();
+            }
+
+            if (!booking.getEnd().isBefore(now) && booking.getEnd().isBefore(boundary)) {
+                boundary = booking.getEnd();
+            }
+        }
+
+        return boundary;
+    }
+
     // Вспомогательный метод для определения last и next бронирований
     private Map<String, Booking> getLastAndNextBooking(List<Booking> bookings) {
         Map<String, Booking> map = new HashMap<>();
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.server.item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ru.practicum.shareit.server.booking.model.BookingBoundaryEvent;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+import ru.practicum.shareit.server.item.model.ItemView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Готовые карточки предметов (в представлении владельца) для GET /items/{id}.
+// Карточка действительна до ближайшего начала или окончания бронирования предмета
+// (но не дольше ttl — например, на случай смены имени автора отзыва)
+// и сбрасывается при изменении предмета, его бронирований и отзывов (сделанных и другими экземплярами).
+// ETag хранится вместе с карточкой, поэтому до истечения ttl устаревшее тело отдаётся с прежним ETag
+@Slf4j
+@Component
+public class ItemViewCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<Integer, Entry> views = new ConcurrentHashMap<>();
+    // поколения защищают от записи карточки, собранной до параллельного сброса
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final int maxSize;
+    private final Duration ttl;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ItemViewCache(@Value("${shareit.item-view.max-size:10000}") int maxSize,
+                         @Value("${shareit.item-view.ttl:10m}") Duration ttl,
+                         MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.hits = Counter.builder("shareit.item.view").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("shareit.item.view").tag("result", "miss").register(meterRegistry);
+
+        Gauge.builder("shareit.item.view.size", views, Map::size).register(meterRegistry);
+    }
+
+    public Optional<ItemView> find(int itemId) {
+        Entry entry = views.get(itemId);
+
+        if (entry == null || !LocalDateTime.now().isBefore(entry.validUntil())) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(entry.view());
+    }
+
+    public long generation(int itemId) {
+        return generations.get(stripe(itemId));
+    }
+
+    public void put(int itemId, ItemView view, LocalDateTime validUntil, long generation) {
+        if (views.size() >= maxSize) {
+            evictAny();
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        Entry entry = new Entry(view, validUntil.isBefore(expiresAt) ? validUntil : expiresAt);
+        views.put(itemId, entry);
+
+        if (generation(itemId) != generation) {
+            views.remove(itemId, entry);
+        }
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    @EventListener
+    public void onBookingDeleted(BookingDeletedEvent event) {
+        invalidate(event.itemId());
+    }
+
+    // Другой экземпляр изменил предмет, его бронирования или отзывы
+    @EventListener
+    public void onRemoteChange(RemoteChangeEvent event) {
+        evict(event.itemId());
+    }
+
+    // Сменились last/next; карточка и так истекла бы по validUntil, но освобождаем память сразу
+    @EventListener
+    public void onBookingBoundary(BookingBoundaryEvent event) {
+        evict(event.itemId());
+    }
+
+    // Сбрасываем сразу и ещё раз после завершения транзакции:
+    // карточка могла быть собрана по данным, которые транзакция ещё не зафиксировала
+    private void invalidate(int itemId) {
+        evict(itemId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(itemId);
+                }
+            });
+        }
+    }
+
+    private void evict(int itemId) {
+        generations.incrementAndGet(stripe(itemId));
+        views.remove(itemId);
+    }
+
+    private void evictAny() {
+        Iterator<Integer> iterator = views.keySet().iterator();
+
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static int stripe(int itemId) {
+        return Math.floorMod(itemId, GENERATION_STRIPES);
+    }
+
+    private record Entry(ItemView view, LocalDateTime validUntil) {
+    }
+}
@@ -3,7 +3,7 @@ package ru.practicum.shareit.server.item.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import ru.practicum.shareit.server.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.model.User;
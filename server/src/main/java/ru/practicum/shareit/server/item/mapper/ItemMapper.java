@@ -5,10 +5,10 @@ import lombok.NoArgsConstructor;
 
 import ru.practicum.shareit.server.booking.mapper.BookingMapper;
 import ru.practicum.shareit.server.booking.model.Booking;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.ItemShortDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.ItemShortDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.model.User;
@@ -82,6 +82,26 @@ public final class ItemMapper {
         return dto;
     }
 
+    // Копия карточки; для всех, кроме владельца, без last/next бронирований
+    public static ItemDetailedDto copyItemDetailedDto(ItemDetailedDto source, boolean withBookings) {
+        ItemDetailedDto dto = new ItemDetailedDto();
+
+        dto.setId(source.getId());
+        dto.setOwnerId(source.getOwnerId());
+        dto.setName(source.getName());
+        dto.setDescription(source.getDescription());
+        dto.setAvailable(source.getAvailable());
+        dto.setRequestId(source.getRequestId());
+        dto.setComments(source.getComments());
+
+        if (withBookings) {
+            dto.setLastBooking(source.getLastBooking());
+            dto.setNextBooking(source.getNextBooking());
+        }
+
+        return dto;
+    }
+
     public static ItemShortDto toItemShortDto(Item item) {
         ItemShortDto dto = new ItemShortDto();
 
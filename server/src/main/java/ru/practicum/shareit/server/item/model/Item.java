@@ -32,4 +32,9 @@ public class Item {
 
     @Column(name = "request_id")
     private Integer requestId;
+
+    // оптимистическая блокировка; версия также входит в ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
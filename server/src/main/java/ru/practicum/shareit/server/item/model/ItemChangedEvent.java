@@ -0,0 +1,5 @@
+package ru.practicum.shareit.server.item.model;
+
+// Публикуется при изменении предмета или его отзывов
+public record ItemChangedEvent(Integer itemId) {
+}
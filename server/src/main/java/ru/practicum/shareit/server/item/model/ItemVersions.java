@@ -0,0 +1,19 @@
+package ru.practicum.shareit.server.item.model;
+
+// Версия предмета и сводки по его отзывам и бронированиям: сводка меняется при добавлении,
+// удалении и изменении любой строки, а passedBoundaries — когда бронирование начинается или заканчивается
+public record ItemVersions(Integer ownerId, Long version,
+                           Long comments, Integer lastCommentId, Long commentAuthorVersions,
+                           Long bookings, Integer lastBookingId, Long bookingVersions, Long passedBoundaries) {
+
+    public String toEntityTag(boolean forOwner) {
+        String tag = "items-" + version + "-" + comments + "-" + lastCommentId + "-" + commentAuthorVersions;
+
+        // last и next бронирования видит только владелец
+        if (!forOwner) {
+            return tag;
+        }
+
+        return tag + "-" + bookings + "-" + lastBookingId + "-" + bookingVersions + "-" + passedBoundaries;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.server.item.model;
+
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+
+// Карточка предмета и версии, прочитанные при её сборке: ETag всегда соответствует закешированному телу
+public record ItemView(ItemDetailedDto item, ItemVersions versions) {
+
+    public String entityTag(int userId) {
+        return versions.toEntityTag(versions.ownerId().equals(userId));
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.server.monitoring;
+
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.util.List;
+
+// SQL-запрос, выполненный внутри вызова метода репозитория, вместе с параметрами
+public record CapturedStatement(String sql, List<ParameterSetOperation> parameters, long elapsedMillis) {
+
+    public boolean isSelect() {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMonitoringAspect {
+    private final StatementCaptureListener statementCapture;
+    private final SlowQueryRegistry slowQueryRegistry;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object monitor(ProceedingJoinPoint joinPoint) throws Throwable {
+        // вложенные вызовы учитываются во внешнем
+        if (statementCapture.isCapturing()) {
+            return joinPoint.proceed();
+        }
+
+        String shape = repositoryName(joinPoint) + "." + joinPoint.getSignature().getName();
+        Object result = null;
+
+        statementCapture.start();
+        long start = System.nanoTime();
+
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<CapturedStatement> statements = statementCapture.stop();
+            Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+            slowQueryRegistry.record(shape, elapsed, rowCount(result, returnType), statements);
+        }
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+
+        return interfaces.length > 0
+                ? interfaces[0].getSimpleName()
+                : joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    // Число строк в результате; null — результат не набор строк (void, count, exists,
+    // число изменённых строк): его значение строками не считается
+    private static Long rowCount(Object result, Class<?> returnType) {
+        if (returnType == void.class || returnType == Void.class) {
+            return null;
+        }
+
+        if (result == null) {
+            return 0L;
+        }
+
+        if (result instanceof Collection<?> collection) {
+            return (long) collection.size();
+        }
+
+        if (result instanceof Slice<?> slice) {
+            return (long) slice.getNumberOfElements();
+        }
+
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1L : 0L;
+        }
+
+        if (result instanceof Number || result instanceof Boolean || result instanceof CharSequence
+                || result instanceof Stream<?>) {
+            return null;
+        }
+
+        // одна сущность или проекция
+        return 1L;
+    }
+}
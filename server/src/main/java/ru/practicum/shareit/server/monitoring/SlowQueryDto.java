@@ -0,0 +1,18 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SlowQueryDto {
+    private String repositoryMethod;
+    private long slowCalls;
+    private long maxMillis;
+    private long avgMillis;
+    // null — результат вызова не набор строк
+    private Long lastRows;
+    private List<String> statements;
+    private String plan;
+    private String planCaptured;
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.server.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// GET /actuator/slowqueries — самые медленные методы репозиториев с планами запросов
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+    private final SlowQueryRegistry slowQueryRegistry;
+
+    @ReadOperation
+    public List<SlowQueryDto> slowQueries() {
+        return slowQueryRegistry.findTop();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryRegistry.reset();
+    }
+}
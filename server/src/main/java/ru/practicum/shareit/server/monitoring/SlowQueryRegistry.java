@@ -0,0 +1,206 @@
+package ru.practicum.shareit.server.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class SlowQueryRegistry {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final int EXPLAIN_TIMEOUT_SECONDS = 30;
+
+    // DataSource и MeterRegistry запрашиваются лениво: аспект репозиториев создаётся раньше них
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long thresholdNanos;
+    private final int top;
+    private final boolean explainEnabled;
+    private final Duration explainInterval;
+
+    private final Map<String, ShapeStats> slowShapes = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1,
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    public SlowQueryRegistry(ObjectProvider<DataSource> dataSource,
+                             ObjectProvider<MeterRegistry> meterRegistry,
+                             @Value("${shareit.slow-query.threshold:200ms}") Duration threshold,
+                             @Value("${shareit.slow-query.top:20}") int top,
+                             @Value("${shareit.slow-query.explain:true}") boolean explainEnabled,
+                             @Value("${shareit.slow-query.explain-interval:10m}") Duration explainInterval) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.top = top;
+        this.explainEnabled = explainEnabled;
+        this.explainInterval = explainInterval;
+    }
+
+    public void record(String shape, long elapsedNanos, Long rows, List<CapturedStatement> statements) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        if (registry != null) {
+            Timer.builder("shareit.repository")
+                    .tag("method", shape)
+                    .register(registry)
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+            if (rows != null) {
+                DistributionSummary.builder("shareit.repository.rows")
+                        .tag("method", shape)
+                        .register(registry)
+                        .record(rows);
+            }
+        }
+
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.warn("Медленный вызов репозитория {}: {} мс, строк: {}", shape, millis, rows != null ? rows : "н/д");
+
+        ShapeStats stats = slowShapes.computeIfAbsent(shape, ShapeStats::new);
+
+        if (stats.update(millis, rows, statements, explainInterval) && explainEnabled) {
+            statements.stream()
+                    .filter(CapturedStatement::isSelect)
+                    .max(Comparator.comparingLong(CapturedStatement::elapsedMillis))
+                    .ifPresent(statement -> explainExecutor.execute(() -> explain(stats, statement)));
+        }
+    }
+
+    public List<SlowQueryDto> findTop() {
+        return slowShapes.values().stream()
+                .map(ShapeStats::toDto)
+                .sorted(Comparator.comparingLong(SlowQueryDto::getMaxMillis).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    public void reset() {
+        slowShapes.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    // EXPLAIN ANALYZE повторно выполняет запрос, поэтому только для SELECT и только в PostgreSQL
+    private void explain(ShapeStats stats, CapturedStatement statement) {
+        try (Connection connection = dataSource.getObject().getConnection()) {
+            if (!POSTGRESQL.equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement explain =
+                         connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + statement.sql())) {
+                explain.setQueryTimeout(EXPLAIN_TIMEOUT_SECONDS);
+
+                for (ParameterSetOperation parameter : statement.parameters()) {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                }
+
+                StringJoiner plan = new StringJoiner("\n");
+
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.add(resultSet.getString(1));
+                    }
+                }
+
+                stats.setPlan(plan.toString());
+                log.info("План медленного запроса {}:\n{}", stats.shape, plan);
+            } finally {
+                connection.rollback();
+            }
+        } catch (Exception ex) {
+            log.warn("Не удалось получить план запроса {}: {}", stats.shape, ex.getMessage());
+        }
+    }
+
+    private static final class ShapeStats {
+        private final String shape;
+        private long slowCalls;
+        private long totalMillis;
+        private long maxMillis;
+        private Long lastRows;
+        private List<String> statements = Collections.emptyList();
+        private String plan;
+        private LocalDateTime planCaptured;
+        private LocalDateTime planRequested;
+
+        private ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        // true, если пора снять план заново
+        private synchronized boolean update(long millis, Long rows, List<CapturedStatement> captured,
+                                            Duration explainInterval) {
+            slowCalls++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            lastRows = rows;
+            statements = captured.stream().map(CapturedStatement::sql).distinct().toList();
+
+            LocalDateTime now = LocalDateTime.now();
+
+            if (planRequested == null || planRequested.plus(explainInterval).isBefore(now)) {
+                planRequested = now;
+                return true;
+            }
+
+            return false;
+        }
+
+        private synchronized void setPlan(String plan) {
+            this.plan = plan;
+            this.planCaptured = LocalDateTime.now();
+        }
+
+        private synchronized SlowQueryDto toDto() {
+            SlowQueryDto dto = new SlowQueryDto();
+
+            dto.setRepositoryMethod(shape);
+            dto.setSlowCalls(slowCalls);
+            dto.setMaxMillis(maxMillis);
+            dto.setAvgMillis(totalMillis / slowCalls);
+            dto.setLastRows(lastRows);
+            dto.setStatements(statements);
+            dto.setPlan(plan);
+
+            if (planCaptured != null) {
+                dto.setPlanCaptured(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(planCaptured));
+            }
+
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.server.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Собирает SQL-запросы текущего потока, пока выполняется метод репозитория
+@Component
+public class StatementCaptureListener implements QueryExecutionListener {
+    private final ThreadLocal<List<CapturedStatement>> captured = new ThreadLocal<>();
+
+    public boolean isCapturing() {
+        return captured.get() != null;
+    }
+
+    public void start() {
+        captured.set(new ArrayList<>());
+    }
+
+    public List<CapturedStatement> stop() {
+        List<CapturedStatement> statements = captured.get();
+        captured.remove();
+        return statements != null ? statements : Collections.emptyList();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<CapturedStatement> statements = captured.get();
+
+        if (statements == null || execInfo.isBatch()) {
+            return;
+        }
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                    ? Collections.emptyList()
+                    : List.copyOf(queryInfo.getParametersList().getFirst());
+            statements.add(new CapturedStatement(queryInfo.getQuery(), parameters, execInfo.getElapsedTime()));
+        }
+    }
+}
@@ -2,13 +2,17 @@ package ru.practicum.shareit.server.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import ru.practicum.shareit.server.request.dto.ItemRequestDto;
-import ru.practicum.shareit.server.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -42,9 +46,23 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestDto getRequest(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                     @PathVariable int requestId) {
+                                     @PathVariable int requestId,
+                                     WebRequest webRequest) {
         log.debug("server: GET /requests/{}", requestId);
         log.debug("server: X-Sharer-User-Id = {}", userId);
-        return itemRequestService.findById(requestId);
+        // На If-None-Match отвечаем по сводке версий, не загружая предметы-ответы;
+        // без него ETag считается по тем же предметам, что попали в ответ
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = itemRequestService.findEntityTag(requestId);
+
+            if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+                log.debug("server: запрос с id = {} не изменился", requestId);
+                return null;
+            }
+        }
+
+        Tagged<ItemRequestDto> request = itemRequestService.findTaggedById(requestId);
+
+        return webRequest.checkNotModified(request.entityTag()) ? null : request.body();
     }
 }
\ No newline at end of file
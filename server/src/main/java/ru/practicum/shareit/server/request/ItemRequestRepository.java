@@ -1,12 +1,23 @@
 package ru.practicum.shareit.server.request;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestVersions;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
     List<ItemRequest> findByRequestorIdOrderByCreatedDesc(int requestorId);
 
     List<ItemRequest> findByRequestorIdNotOrderByCreatedDesc(int requestorId);
+
+    // Для ETag: версия запроса и сводка по предметам-ответам
+    @Query("SELECT new ru.practicum.shareit.server.request.model.ItemRequestVersions(request.version, " +
+            "(SELECT COUNT(item) FROM Item item WHERE item.requestId = request.id), " +
+            "(SELECT COALESCE(MAX(item.id), 0) FROM Item item WHERE item.requestId = request.id), " +
+            "(SELECT COALESCE(SUM(item.version), 0L) FROM Item item WHERE item.requestId = request.id)) " +
+            "FROM ItemRequest request WHERE request.id = ?1")
+    Optional<ItemRequestVersions> findVersionsById(int requestId);
 }
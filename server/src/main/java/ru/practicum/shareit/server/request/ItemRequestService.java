@@ -1,9 +1,11 @@
 package ru.practicum.shareit.server.request;
 
-import ru.practicum.shareit.server.request.dto.ItemRequestDto;
-import ru.practicum.shareit.server.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
     ItemRequestShortDto createRequest(int userId, ItemRequestShortDto dto);
@@ -13,4 +15,8 @@ public interface ItemRequestService {
     List<ItemRequestShortDto> findAll(int userId);
 
     ItemRequestDto findById(int requestId);
+
+    Tagged<ItemRequestDto> findTaggedById(int requestId);
+
+    Optional<String> findEntityTag(int requestId);
 }
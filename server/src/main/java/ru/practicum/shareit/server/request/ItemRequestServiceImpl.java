@@ -1,19 +1,22 @@
 package ru.practicum.shareit.server.request;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.exception.ExceptionConstants;
 import ru.practicum.shareit.server.exception.LogConstants;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.model.Item;
-import ru.practicum.shareit.server.request.dto.ItemRequestDto;
-import ru.practicum.shareit.server.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.server.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.server.request.model.ItemRequest;
+import ru.practicum.shareit.server.request.model.ItemRequestVersions;
 import ru.practicum.shareit.server.user.UserRepository;
 import ru.practicum.shareit.server.user.model.User;
 
@@ -31,19 +34,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestShortDto createRequest(int userId, ItemRequestShortDto dto) {
-        log.debug("Создание нового запроса вещи от пользователя с id = {}: {}", userId, dto);
+        log.debug("Создание нового запроса вещи от пользователя с id = {}", userId);
 
         User user = findAndGetUser(userId);
         ItemRequest request = ItemRequestMapper.toNewItemRequest(user, dto);
         request = itemRequestRepository.save(request);
 
-        log.debug("Добавлен запрос: {}", request);
+        log.debug("Добавлен запрос с id = {}", request.getId());
 
         return ItemRequestMapper.toItemRequestShortDto(request);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public List<ItemRequestDto> findByUserId(int userId) {
         log.debug("Получение всех запросов пользователя с id = {}", userId);
 
@@ -64,6 +68,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public List<ItemRequestShortDto> findAll(int userId) {
         log.debug("Получение всех чужих запросов для пользователя с id = {}", userId);
 
@@ -76,7 +81,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
     public ItemRequestDto findById(int requestId) {
+        return findTaggedById(requestId).body();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public Tagged<ItemRequestDto> findTaggedById(int requestId) {
         log.debug("Получение запроса с id = {}", requestId);
 
         Optional<ItemRequest> maybeRequest = itemRequestRepository.findById(requestId);
@@ -90,7 +103,17 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         log.debug("items.size() = {}", items.size());
 
-        return ItemRequestMapper.toItemRequestDto(maybeRequest.get(), items);
+        return new Tagged<>(ItemRequestVersions.of(maybeRequest.get(), items).toEntityTag(),
+                ItemRequestMapper.toItemRequestDto(maybeRequest.get(), items));
+    }
+
+    // Пусто, если запроса нет: запрос пойдёт обычным путём и получит 404
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "shareit.service", histogram = true)
+    public Optional<String> findEntityTag(int requestId) {
+        return itemRequestRepository.findVersionsById(requestId)
+                .map(ItemRequestVersions::toEntityTag);
     }
 
     @Transactional(readOnly = true)
@@ -27,4 +27,9 @@ public class ItemRequest {
 
     @Column(name = "date_created")
     private LocalDateTime created = LocalDateTime.now();
+
+    // оптимистическая блокировка; версия также входит в ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.server.request.model;
+
+import ru.practicum.shareit.server.item.model.Item;
+
+import java.util.List;
+
+// Версия запроса и сводка по предметам, добавленным в ответ на него
+public record ItemRequestVersions(Long version, Long items, Integer lastItemId, Long itemVersions) {
+
+    // Те же значения, что считает ItemRequestRepository.findVersionsById, но по уже загруженным строкам
+    public static ItemRequestVersions of(ItemRequest request, List<Item> items) {
+        return new ItemRequestVersions(request.getVersion(), (long) items.size(),
+                items.stream().mapToInt(Item::getId).max().orElse(0),
+                items.stream().mapToLong(Item::getVersion).sum());
+    }
+
+    public String toEntityTag() {
+        return "requests-" + version + "-" + items + "-" + lastItemId + "-" + itemVersions;
+    }
+}
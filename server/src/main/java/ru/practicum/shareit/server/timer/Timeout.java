@@ -0,0 +1,53 @@
+package ru.practicum.shareit.server.timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Отложенная задача колеса; одновременно узел двусвязного списка своей ячейки
+public final class Timeout {
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final HashedTimingWheel wheel;
+    private final Runnable task;
+    final long deadline;
+    private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+    // поля ниже меняет только рабочий поток колеса
+    long remainingRounds;
+    Timeout next;
+    Timeout prev;
+    HashedTimingWheel.Bucket bucket;
+
+    Timeout(HashedTimingWheel wheel, Runnable task, long deadline) {
+        this.wheel = wheel;
+        this.task = task;
+        this.deadline = deadline;
+    }
+
+    // O(1): помечаем и ставим в очередь, из ячейки узел уберёт рабочий поток
+    public boolean cancel() {
+        if (!state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+            return false;
+        }
+
+        wheel.cancelled(this);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return state.get() == ST_CANCELLED;
+    }
+
+    public boolean isExpired() {
+        return state.get() == ST_EXPIRED;
+    }
+
+    boolean expire() {
+        return state.compareAndSet(ST_INIT, ST_EXPIRED);
+    }
+
+    Runnable task() {
+        return task;
+    }
+}
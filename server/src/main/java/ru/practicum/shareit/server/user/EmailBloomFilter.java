@@ -0,0 +1,199 @@
+package ru.practicum.shareit.server.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+// Фильтр Блума зарегистрированных email (без учёта регистра).
+// Ответ «точно нет» позволяет не проверять email в БД перед вставкой, «возможно» перепроверяется запросом.
+// Уникальность в любом случае гарантирует индекс, поэтому пропуски фильтра (например, email,
+// добавленный во время перестройки) безопасны. Удалять из фильтра Блума нельзя, поэтому
+// удалённые и сменённые email вычищаются периодической перестройкой
+@Slf4j
+@Component
+public class EmailBloomFilter {
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter absent;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+
+    private volatile Bits bits;
+
+    public EmailBloomFilter(UserRepository userRepository,
+                            @Value("${shareit.user-email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${shareit.user-email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            MeterRegistry meterRegistry) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Некорректные параметры фильтра email: expected-insertions = "
+                    + expectedInsertions + ", false-positive-rate = " + falsePositiveRate);
+        }
+
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = createBits();
+        this.absent = Counter.builder("shareit.user.email.filter").tag("result", "absent").register(meterRegistry);
+        this.maybePresent = Counter.builder("shareit.user.email.filter").tag("result", "maybe")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("shareit.user.email.filter").tag("result", "false_positive")
+                .register(meterRegistry);
+
+        Gauge.builder("shareit.user.email.filter.bytes", this, filter -> filter.bits.sizeInBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("shareit.user.email.filter.fpp", this, filter -> filter.bits.estimatedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("shareit.user.email.filter.fpp.target", this, filter -> filter.falsePositiveRate)
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String email) {
+        boolean result = bits.mightContain(hash(email));
+
+        if (result) {
+            maybePresent.increment();
+        } else {
+            absent.increment();
+        }
+
+        return result;
+    }
+
+    public void put(String email) {
+        bits.put(hash(email));
+    }
+
+    // Фильтр ответил «возможно», а в БД такого email нет
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${shareit.user-email-filter.rebuild-interval:3600000}",
+            initialDelayString = "${shareit.user-email-filter.rebuild-interval:3600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Bits next = createBits();
+
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            emails.forEach(email -> next.put(hash(email)));
+        }
+
+        bits = next;
+
+        log.info("Фильтр email перестроен: {} байт, оценка доли ложных срабатываний = {}",
+                next.sizeInBytes(), next.estimatedFalsePositiveRate());
+    }
+
+    // Оптимальные размеры: m = -n * ln(p) / ln(2)^2 бит и k = m / n * ln(2) хеш-функций
+    private Bits createBits() {
+        long size = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashes = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+
+        return new Bits(size, hashes);
+    }
+
+    // FNV-1a по нормализованному email с перемешиванием из MurmurHash3
+    private static long hash(String email) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (byte b : email.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+
+    // Битовый массив с k позициями на элемент по схеме двойного хеширования (h1 + i * h2)
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final AtomicLong setBits = new AtomicLong();
+
+        private Bits(long size, int hashes) {
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (size + 63) / 64);
+
+            this.words = new AtomicLongArray(wordCount);
+            this.size = (long) wordCount * 64;
+            this.hashes = hashes;
+        }
+
+        private boolean mightContain(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+
+            for (int i = 0; i < hashes; i++) {
+                long index = Math.floorMod(h1 + i * h2, size);
+
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void put(long hash) {
+            long h1 = hash;
+            long h2 = mix(hash) | 1;
+
+            for (int i = 0; i < hashes; i++) {
+                set(Math.floorMod(h1 + i * h2, size));
+            }
+        }
+
+        private void set(long index) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            while (true) {
+                long current = words.get(word);
+
+                if ((current & mask) != 0) {
+                    return;
+                }
+
+                if (words.compareAndSet(word, current, current | mask)) {
+                    setBits.incrementAndGet();
+                    return;
+                }
+            }
+        }
+
+        private long sizeInBytes() {
+            return size / 8;
+        }
+
+        // Вероятность ложного срабатывания при текущем заполнении: (доля установленных бит)^k
+        private double estimatedFalsePositiveRate() {
+            return Math.pow((double) setBits.get() / size, hashes);
+        }
+    }
+}
@@ -2,12 +2,17 @@ package ru.practicum.shareit.server.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -24,9 +29,21 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUser(@PathVariable int userId) {
+    public UserDto getUser(@PathVariable int userId, WebRequest webRequest) {
         log.debug("server: GET /users/{}", userId);
-        return userService.findById(userId);
+        // Версия читается отдельно только для условного GET, иначе ETag берётся из загруженной строки
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = userService.findEntityTag(userId);
+
+            if (etag.isPresent() && webRequest.checkNotModified(etag.get())) {
+                log.debug("server: пользователь с id = {} не изменился", userId);
+                return null;
+            }
+        }
+
+        Tagged<UserDto> user = userService.findTaggedById(userId);
+
+        return webRequest.checkNotModified(user.entityTag()) ? null : user.body();
     }
 
     @PatchMapping("/{userId}")
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.server.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import ru.practicum.shareit.server.user.dto.UserPurgeDto;
+
+import java.util.List;
+
+// GET /actuator/userpurge — ход фоновой очистки данных удалённых пользователей
+@Component
+@Endpoint(id = "userpurge")
+@RequiredArgsConstructor
+public class UserPurgeEndpoint {
+    private final UserPurgeJob userPurgeJob;
+
+    @ReadOperation
+    public List<UserPurgeDto> purges() {
+        return userPurgeJob.findProgress();
+    }
+}
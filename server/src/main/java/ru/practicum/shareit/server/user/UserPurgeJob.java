@@ -0,0 +1,228 @@
+package ru.practicum.shareit.server.user;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+import ru.practicum.shareit.server.user.dto.UserPurgeDto;
+import ru.practicum.shareit.server.user.model.PurgeRow;
+import ru.practicum.shareit.server.user.model.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+// Фоновое удаление данных пользователей, помеченных удалёнными.
+// Зависимые строки удаляются пакетами по batch-size, каждый пакет в своей короткой транзакции,
+// чтобы не держать блокировки bookings и других таблиц на всё время удаления
+@Slf4j
+@Component
+public class UserPurgeJob {
+    private static final int MAX_FINISHED = 100;
+
+    private final UserPurgeRepository purgeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    private final Map<Integer, Progress> progress = new ConcurrentHashMap<>();
+    private final Queue<Integer> finished = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean queued = new AtomicBoolean();
+    // один поток: очистки выполняются по очереди и не конкурируют между собой
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserPurgeJob(UserPurgeRepository purgeRepository,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher eventPublisher,
+                        MeterRegistry meterRegistry,
+                        @Value("${shareit.user-purge.batch-size:500}") int batchSize) {
+        this.purgeRepository = purgeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+
+        Gauge.builder("shareit.user.purge.pending", progress, values -> values.values().stream()
+                        .filter(Progress::isActive)
+                        .count())
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        progress.putIfAbsent(event.userId(), new Progress(event.userId()));
+        schedule();
+    }
+
+    // Подбирает пользователей, очистка которых не выполнилась (например, из-за перезапуска)
+    @Scheduled(fixedDelayString = "${shareit.user-purge.interval:60000}",
+            initialDelayString = "${shareit.user-purge.interval:60000}")
+    public void schedule() {
+        if (queued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                queued.set(false);
+                purgeDeleted();
+            });
+        }
+    }
+
+    public void purgeDeleted() {
+        List<Integer> userIds = transactionTemplate.execute(status -> purgeRepository.findDeletedUserIds());
+
+        for (Integer userId : userIds) {
+            purge(userId);
+        }
+    }
+
+    public List<UserPurgeDto> findProgress() {
+        return progress.values().stream()
+                .map(Progress::toDto)
+                .sorted(Comparator.comparing(UserPurgeDto::getUserId))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void purge(int userId) {
+        Progress userProgress = progress.computeIfAbsent(userId, Progress::new);
+        userProgress.start();
+        log.info("Начата очистка данных удалённого пользователя с id = {}", userId);
+
+        try {
+            // сначала дочерние строки, чтобы каскадные удаления не выполнялись одной большой транзакцией
+            purgeStep(userProgress, "comments", limit -> purgeRepository.findCommentsByAuthorId(userId, limit),
+                    purgeRepository::deleteComments, this::publishItemsChanged);
+            purgeStep(userProgress, "bookings", limit -> purgeRepository.findBookingsByBookerId(userId, limit),
+                    purgeRepository::deleteBookings, this::publishBookingsDeleted);
+            purgeStep(userProgress, "comments", limit -> purgeRepository.findCommentsByItemOwnerId(userId, limit),
+                    purgeRepository::deleteComments, this::publishItemsChanged);
+            purgeStep(userProgress, "bookings", limit -> purgeRepository.findBookingsByItemOwnerId(userId, limit),
+                    purgeRepository::deleteBookings, this::publishBookingsDeleted);
+            purgeStep(userProgress, "items", limit -> purgeRepository.findItemsByOwnerId(userId, limit),
+                    purgeRepository::deleteItems, this::publishItemsChanged);
+            purgeStep(userProgress, "requests", limit -> purgeRepository.findRequestsByRequestorId(userId, limit),
+                    purgeRepository::deleteRequests, rows -> { });
+
+            Integer deleted = transactionTemplate.execute(status -> purgeRepository.deleteUser(userId));
+            record(userProgress, "users", deleted);
+            userProgress.finish(null);
+
+            log.info("Завершена очистка данных удалённого пользователя с id = {}", userId);
+        } catch (RuntimeException ex) {
+            userProgress.finish(ex.getMessage());
+            log.error("Ошибка очистки данных удалённого пользователя с id = {}", userId, ex);
+        }
+
+        finished.add(userId);
+        while (finished.size() > MAX_FINISHED) {
+            progress.computeIfPresent(finished.remove(), (id, value) -> value.isActive() ? value : null);
+        }
+    }
+
+    private void purgeStep(Progress userProgress, String table, IntFunction<List<PurgeRow>> select,
+                           ToIntFunction<List<Integer>> delete, Consumer<List<PurgeRow>> afterCommit) {
+        List<PurgeRow> batch;
+
+        do {
+            batch = transactionTemplate.execute(status -> {
+                List<PurgeRow> rows = select.apply(batchSize);
+
+                if (!rows.isEmpty()) {
+                    delete.applyAsInt(rows.stream().map(PurgeRow::getId).toList());
+                }
+
+                return rows;
+            });
+
+            record(userProgress, table, batch.size());
+            afterCommit.accept(batch);
+        } while (batch.size() == batchSize);
+    }
+
+    private void record(Progress userProgress, String table, int rows) {
+        userProgress.add(table, rows);
+        meterRegistry.counter("shareit.user.purge.rows", "table", table).increment(rows);
+    }
+
+    private void publishItemsChanged(List<PurgeRow> rows) {
+        rows.stream()
+                .map(PurgeRow::getItemId)
+                .distinct()
+                .forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+    }
+
+    private void publishBookingsDeleted(List<PurgeRow> rows) {
+        rows.forEach(row -> eventPublisher.publishEvent(new BookingDeletedEvent(row.getId(), row.getItemId(),
+                row.getOwnerId())));
+    }
+
+    private static final class Progress {
+        private final int userId;
+        private final Map<String, Long> deletedRows = new LinkedHashMap<>();
+        private String status = "PENDING";
+        private LocalDateTime started;
+        private LocalDateTime finished;
+        private String error;
+
+        private Progress(int userId) {
+            this.userId = userId;
+        }
+
+        private synchronized void start() {
+            status = "RUNNING";
+            started = LocalDateTime.now();
+            finished = null;
+            error = null;
+        }
+
+        private synchronized void add(String table, long rows) {
+            deletedRows.merge(table, rows, Long::sum);
+        }
+
+        private synchronized void finish(String error) {
+            this.status = error == null ? "DONE" : "FAILED";
+            this.finished = LocalDateTime.now();
+            this.error = error;
+        }
+
+        private synchronized boolean isActive() {
+            return "PENDING".equals(status) || "RUNNING".equals(status);
+        }
+
+        private synchronized UserPurgeDto toDto() {
+            UserPurgeDto dto = new UserPurgeDto();
+
+            dto.setUserId(userId);
+            dto.setStatus(status);
+            dto.setDeletedRows(new LinkedHashMap<>(deletedRows));
+            dto.setStarted(started == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(started));
+            dto.setFinished(finished == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(finished));
+            dto.setError(error);
+
+            return dto;
+        }
+    }
+}
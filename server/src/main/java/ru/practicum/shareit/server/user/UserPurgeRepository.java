@@ -0,0 +1,64 @@
+package ru.practicum.shareit.server.user;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import ru.practicum.shareit.server.user.model.PurgeRow;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.util.Collection;
+import java.util.List;
+
+// Пакетная очистка данных удалённых пользователей
+public interface UserPurgeRepository extends Repository<User, Integer> {
+
+    @Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL ORDER BY id", nativeQuery = true)
+    List<Integer> findDeletedUserIds();
+
+    @Query(value = "SELECT id AS id, item_id AS itemId FROM comments WHERE author_id = ?1 ORDER BY id LIMIT ?2",
+            nativeQuery = true)
+    List<PurgeRow> findCommentsByAuthorId(int userId, int limit);
+
+    @Query(value = "SELECT comment.id AS id, comment.item_id AS itemId FROM comments AS comment " +
+            "JOIN items AS item ON item.id = comment.item_id " +
+            "WHERE item.owner_id = ?1 ORDER BY comment.id LIMIT ?2", nativeQuery = true)
+    List<PurgeRow> findCommentsByItemOwnerId(int userId, int limit);
+
+    @Query(value = "SELECT booking.id AS id, booking.item_id AS itemId, item.owner_id AS ownerId " +
+            "FROM bookings AS booking JOIN items AS item ON item.id = booking.item_id " +
+            "WHERE booking.booker_id = ?1 ORDER BY booking.id LIMIT ?2", nativeQuery = true)
+    List<PurgeRow> findBookingsByBookerId(int userId, int limit);
+
+    @Query(value = "SELECT booking.id AS id, booking.item_id AS itemId, item.owner_id AS ownerId " +
+            "FROM bookings AS booking JOIN items AS item ON item.id = booking.item_id " +
+            "WHERE item.owner_id = ?1 ORDER BY booking.id LIMIT ?2", nativeQuery = true)
+    List<PurgeRow> findBookingsByItemOwnerId(int userId, int limit);
+
+    @Query(value = "SELECT id AS id, id AS itemId FROM items WHERE owner_id = ?1 ORDER BY id LIMIT ?2",
+            nativeQuery = true)
+    List<PurgeRow> findItemsByOwnerId(int userId, int limit);
+
+    @Query(value = "SELECT id AS id FROM requests WHERE requestor_id = ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<PurgeRow> findRequestsByRequestorId(int userId, int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM comments WHERE id IN ?1", nativeQuery = true)
+    int deleteComments(Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN ?1", nativeQuery = true)
+    int deleteBookings(Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM items WHERE id IN ?1", nativeQuery = true)
+    int deleteItems(Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM requests WHERE id IN ?1", nativeQuery = true)
+    int deleteRequests(Collection<Integer> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = ?1 AND deleted_at IS NOT NULL", nativeQuery = true)
+    int deleteUser(int userId);
+}
@@ -1,12 +1,56 @@
 package ru.practicum.shareit.server.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import ru.practicum.shareit.server.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// Помеченные удалёнными пользователи до очистки не находятся ни одним поиском
 public interface UserRepository extends JpaRepository<User, Integer> {
 
+    @Override
+    @Query("SELECT user FROM User user WHERE user.id = ?1 AND user.deletedAt IS NULL")
+    Optional<User> findById(Integer userId);
+
+    @Query("SELECT user FROM User user WHERE user.email = ?1 AND user.deletedAt IS NULL")
     Optional<User> findByEmail(String email);
+
+    // Проверки занятости email без учёта регистра (как и уникальный индекс по lower(email))
+    @Query("SELECT COUNT(user) > 0 FROM User user WHERE LOWER(user.email) = LOWER(?1) AND user.deletedAt IS NULL")
+    boolean existsByEmailIgnoringCase(String email);
+
+    @Query("SELECT COUNT(user) > 0 FROM User user " +
+            "WHERE LOWER(user.email) = LOWER(?1) AND user.id <> ?2 AND user.deletedAt IS NULL")
+    boolean existsByEmailIgnoringCaseAndIdNot(String email, int userId);
+
+    // Мягкое удаление: данные пользователя удалит UserPurgeJob
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE users SET deleted_at = ?2 WHERE id = ?1 AND deleted_at IS NULL", nativeQuery = true)
+    int softDeleteById(int userId, LocalDateTime deletedAt);
+
+    // Предметы помеченного удалённым владельца до очистки не ищутся и не бронируются
+    @Query(value = "SELECT id FROM items WHERE owner_id = ?1 AND is_available = TRUE", nativeQuery = true)
+    List<Integer> findAvailableItemIds(int ownerId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE items SET is_available = FALSE, version = version + 1 " +
+            "WHERE owner_id = ?1 AND is_available = TRUE", nativeQuery = true)
+    int hideItemsByOwnerId(int ownerId);
+
+    @Query("SELECT user.email FROM User user WHERE user.deletedAt IS NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    // Для ETag
+    @Query("SELECT user.version FROM User user WHERE user.id = ?1 AND user.deletedAt IS NULL")
+    Optional<Long> findVersionById(int userId);
 }
@@ -1,14 +1,21 @@
 package ru.practicum.shareit.server.user;
 
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+
+import java.util.Optional;
 
 public interface UserService {
     UserDto createUser(NewUserDto request);
 
     UserDto findById(int userId);
 
+    Tagged<UserDto> findTaggedById(int userId);
+
+    Optional<String> findEntityTag(int userId);
+
     UserDto update(int userId, UpdateUserDto request);
 
     void deleteById(int userId);
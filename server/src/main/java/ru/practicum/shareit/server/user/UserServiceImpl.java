@@ -2,40 +2,52 @@ package ru.practicum.shareit.server.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.exception.EmailConflictException;
 import ru.practicum.shareit.server.exception.ExceptionConstants;
 import ru.practicum.shareit.server.exception.LogConstants;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.user.mapper.UserMapper;
 import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.user.model.UserDeletedEvent;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    // SQLState нарушения уникальности (одинаковый в PostgreSQL и H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+
     private final UserRepository userRepository;
+    private final EmailBloomFilter emailFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public UserDto createUser(NewUserDto request) {
-        log.debug("Запрос на создание пользователя: {}", request);
+        log.debug("Запрос на создание пользователя");
 
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            log.warn(LogConstants.EMAIL_CONFLICT, request.getEmail());
-            throw new EmailConflictException(ExceptionConstants.EMAIL_CONFLICT);
+        if (emailFilter.mightContain(request.getEmail())) {
+            checkEmailIsFree(userRepository.existsByEmailIgnoringCase(request.getEmail()), request.getEmail());
         }
 
-        User user = userRepository.save(UserMapper.toNewUser(request));
+        User user = saveUser(UserMapper.toNewUser(request));
 
-        log.debug("Добавлен пользователь: {}", user);
+        log.debug("Добавлен пользователь с id = {}", user.getId());
 
         return UserMapper.toUserDto(user);
     }
@@ -43,6 +55,12 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserDto findById(int userId) {
+        return findTaggedById(userId).body();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Tagged<UserDto> findTaggedById(int userId) {
         log.debug("Запрос на получение пользователя с id = {}", userId);
 
         Optional<User> maybeUser = userRepository.findById(userId);
@@ -52,9 +70,15 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException(String.format(ExceptionConstants.USER_NOT_FOUND_BY_ID, userId));
         }
 
-        log.debug("Пользователь: {}", maybeUser.get());
+        return new Tagged<>(toEntityTag(maybeUser.get().getVersion()), UserMapper.toUserDto(maybeUser.get()));
+    }
 
-        return UserMapper.toUserDto(maybeUser.get());
+    // Пусто, если пользователя нет: запрос пойдёт обычным путём и получит 404
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findEntityTag(int userId) {
+        return userRepository.findVersionById(userId)
+                .map(UserServiceImpl::toEntityTag);
     }
 
     @Override
@@ -69,22 +93,19 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException(String.format(ExceptionConstants.USER_NOT_FOUND_BY_ID, userId));
         }
 
-        if (request.hasEmail()) {
-            Optional<User> found = userRepository.findByEmail(request.getEmail());
+        User user = maybeUser.get();
 
-            if (found.isPresent() && found.get().getId() != userId) {
-                log.warn(LogConstants.EMAIL_CONFLICT, request.getEmail());
-                throw new EmailConflictException(ExceptionConstants.EMAIL_CONFLICT);
-            }
+        // свой же email фильтр знает; это не ложное срабатывание, и проверять его незачем
+        if (request.hasEmail() && !request.getEmail().equalsIgnoreCase(user.getEmail())
+                && emailFilter.mightContain(request.getEmail())) {
+            checkEmailIsFree(userRepository.existsByEmailIgnoringCaseAndIdNot(request.getEmail(), userId),
+                    request.getEmail());
         }
 
-        User user = maybeUser.get();
-        log.debug("Исходное состояние пользователя: {}", user);
-
         UserMapper.updateUserFields(user, request);
 
-        user = userRepository.save(user);
-        log.debug("Изменён пользователь: {}", user);
+        user = saveUser(user);
+        log.debug("Изменён пользователь с id = {}", user.getId());
 
         return UserMapper.toUserDto(user);
     }
@@ -93,7 +114,59 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteById(int userId) {
         log.debug("Запрос на удаление пользователя с id = {}", userId);
-        userRepository.deleteById(userId);
-        log.debug("Удалён пользователь с id = {}", userId);
+
+        // предметы, бронирования, отзывы и запросы пользователя удаляются в фоне пакетами;
+        // до этого его предметы снимаются с поиска и бронирования в той же транзакции
+        if (userRepository.softDeleteById(userId, LocalDateTime.now()) > 0) {
+            List<Integer> itemIds = userRepository.findAvailableItemIds(userId);
+
+            userRepository.hideItemsByOwnerId(userId);
+            itemIds.forEach(itemId -> eventPublisher.publishEvent(new ItemChangedEvent(itemId)));
+            eventPublisher.publishEvent(new UserDeletedEvent(userId));
+            log.debug("Пользователь с id = {} помечен удалённым, скрыто предметов: {}", userId, itemIds.size());
+        }
+    }
+
+    // Фильтр ответил «возможно занят»: уже занятый email отклоняем без попытки вставки
+    private void checkEmailIsFree(boolean taken, String email) {
+        if (!taken) {
+            emailFilter.recordFalsePositive();
+            return;
+        }
+
+        log.warn(LogConstants.EMAIL_CONFLICT, email);
+        throw new EmailConflictException(ExceptionConstants.EMAIL_CONFLICT);
+    }
+
+    // Окончательно уникальность email (без учёта регистра) проверяет индекс в БД:
+    // так нет гонки между проверкой и вставкой
+    private User saveUser(User user) {
+        try {
+            User saved = userRepository.saveAndFlush(user);
+            emailFilter.put(saved.getEmail());
+
+            return saved;
+        } catch (DataIntegrityViolationException ex) {
+            if (!isUniqueViolation(ex)) {
+                throw ex;
+            }
+
+            log.warn(LogConstants.EMAIL_CONFLICT, user.getEmail());
+            throw new EmailConflictException(ExceptionConstants.EMAIL_CONFLICT);
+        }
+    }
+
+    private static boolean isUniqueViolation(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String toEntityTag(Long version) {
+        return "users-" + version;
     }
 }
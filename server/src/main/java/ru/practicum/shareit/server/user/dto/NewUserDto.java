@@ -1,9 +0,0 @@
-package ru.practicum.shareit.server.user.dto;
-
-import lombok.Data;
-
-@Data
-public class NewUserDto {
-    private String name;
-    private String email;
-}
@@ -1,17 +0,0 @@
-package ru.practicum.shareit.server.user.dto;
-
-import lombok.Data;
-
-@Data
-public class UpdateUserDto {
-    private String name;
-    private String email;
-
-    public boolean hasName() {
-        return name != null;
-    }
-
-    public boolean hasEmail() {
-        return email != null;
-    }
-}
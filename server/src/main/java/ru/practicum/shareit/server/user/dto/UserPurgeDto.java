@@ -0,0 +1,15 @@
+package ru.practicum.shareit.server.user.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class UserPurgeDto {
+    private Integer userId;
+    private String status;
+    private Map<String, Long> deletedRows;
+    private String started;
+    private String finished;
+    private String error;
+}
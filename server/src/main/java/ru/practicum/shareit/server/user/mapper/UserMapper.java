@@ -3,9 +3,9 @@ package ru.practicum.shareit.server.user.mapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.user.model.User;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.server.user.model;
+
+// Строка, удаляемая при очистке данных пользователя; itemId и ownerId нужны для сброса кешей
+public interface PurgeRow {
+    Integer getId();
+
+    Integer getItemId();
+
+    Integer getOwnerId();
+}
@@ -3,8 +3,12 @@ package ru.practicum.shareit.server.user.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "users")
+// Удалённые пользователи скрыты запросами UserRepository до фоновой очистки их данных (см. UserPurgeJob).
+// Связи (автор отзыва, арендатор) загружают их как есть, чтобы чужие бронирования и отзывы читались
 @Getter
 @Setter
 @ToString
@@ -19,4 +23,12 @@ public class User {
 
     @Column(name = "email")
     private String email;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // оптимистическая блокировка; версия также входит в ETag
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
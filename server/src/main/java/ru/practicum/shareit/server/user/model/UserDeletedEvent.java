@@ -0,0 +1,5 @@
+package ru.practicum.shareit.server.user.model;
+
+// Публикуется внутри транзакции, пометившей пользователя удалённым
+public record UserDeletedEvent(Integer userId) {
+}
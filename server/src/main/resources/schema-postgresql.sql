@@ -0,0 +1 @@
+CREATE UNIQUE INDEX IF NOT EXISTS users_lower_email_uidx ON users (LOWER(email));
@@ -7,6 +7,9 @@ CREATE TABLE IF NOT EXISTS users (
 	CONSTRAINT email_no_whitespace CHECK (email NOT LIKE '% %')
 );
 
+-- Пользователь помечается удалённым сразу, а его данные удаляются в фоне
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP;
+
 CREATE TABLE IF NOT EXISTS requests (
     id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     description varchar NOT NULL,
@@ -41,4 +44,36 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id INTEGER REFERENCES items(id) ON DELETE CASCADE,
     author_id INTEGER REFERENCES users(id) ON DELETE CASCADE,
     date_created TIMESTAMP NOT NULL
-);
\ No newline at end of file
+);
+
+CREATE TABLE IF NOT EXISTS booking_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id INTEGER NOT NULL,
+    item_id INTEGER NOT NULL,
+    owner_id INTEGER NOT NULL,
+    booker_id INTEGER NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    status VARCHAR(8) NOT NULL,
+    date_created TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS cache_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    origin VARCHAR(36) NOT NULL,
+    item_id INTEGER NOT NULL,
+    booking_id INTEGER,
+    owner_id INTEGER,
+    date_created TIMESTAMP NOT NULL
+);
+
+-- Версии строк: оптимистическая блокировка при изменении и ETag для условных GET
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_item_id_status_end_date_idx ON bookings (booker_id, item_id, status, end_date);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_date_created_idx ON comments (item_id, date_created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_date_idx ON bookings (item_id, start_date);
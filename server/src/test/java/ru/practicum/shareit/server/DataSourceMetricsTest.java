@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class DataSourceMetricsTest {
+    private static final String POOL_NAME = "shareit-pool";
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void shouldConfigureConnectionPool() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals(POOL_NAME, hikari.getPoolName());
+        assertEquals(20, hikari.getMaximumPoolSize());
+        assertEquals(5000, hikari.getConnectionTimeout());
+        assertEquals(20000, hikari.getLeakDetectionThreshold());
+    }
+
+    @Test
+    void shouldPublishPoolGauges() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", POOL_NAME).gauge());
+            assertNotNull(meterRegistry.find("hikaricp.connections.idle").tag("pool", POOL_NAME).gauge());
+            assertNotNull(meterRegistry.find("hikaricp.connections.pending").tag("pool", POOL_NAME).gauge());
+            assertTrue(meterRegistry.get("hikaricp.connections.active").tag("pool", POOL_NAME).gauge().value() >= 1);
+        }
+    }
+
+    @Test
+    void shouldRecordConnectionAcquireTime() throws Exception {
+        try (Connection ignored = dataSource.getConnection()) {
+            Timer acquire = meterRegistry.get("hikaricp.connections.acquire").tag("pool", POOL_NAME).timer();
+
+            assertTrue(acquire.count() > 0);
+        }
+    }
+}
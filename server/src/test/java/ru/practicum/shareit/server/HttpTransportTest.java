@@ -0,0 +1,167 @@
+package ru.practicum.shareit.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import ru.practicum.shareit.server.booking.BookingEventEmitters;
+import ru.practicum.shareit.server.booking.dto.BookingEventDto;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.user.UserRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.utils.ItemTestData;
+import ru.practicum.shareit.server.utils.UserTestData;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Транспорт между шлюзом и сервером: h2c, сжатие больших списков и поток событий
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "server.http2.enabled=true")
+@Sql(scripts = {"/schema.sql", "/clear.sql"})
+class HttpTransportTest {
+    private static final int ITEMS = 50;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingEventEmitters bookingEventEmitters;
+
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(UserTestData.createNewUser());
+
+        for (int i = 0; i < ITEMS; i++) {
+            item = itemRepository.save(ItemTestData.createNewItem(owner));
+        }
+    }
+
+    @Test
+    void shouldCompressLargeListResponse() throws Exception {
+        HttpResponse<byte[]> response = send(HttpClient.Version.HTTP_1_1, "/items");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            JsonNode items = objectMapper.readTree(body);
+
+            assertEquals(ITEMS, items.size());
+        }
+    }
+
+    @Test
+    void shouldNotCompressSmallResponse() throws Exception {
+        HttpResponse<byte[]> response = send(HttpClient.Version.HTTP_1_1, "/items/" + item.getId());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(response.body().length, response.headers().firstValueAsLong("Content-Length").orElse(-1));
+    }
+
+    @Test
+    void shouldCompressLargeCborResponse() throws Exception {
+        HttpResponse<byte[]> response = send(HttpClient.Version.HTTP_1_1, "/items", "application/cbor");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/cbor", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+
+        try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            JsonNode items = new ObjectMapper(new CBORFactory()).readTree(body);
+
+            assertEquals(ITEMS, items.size());
+        }
+    }
+
+    @Test
+    void shouldServeH2c() throws Exception {
+        HttpResponse<byte[]> response = send(HttpClient.Version.HTTP_2, "/items");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    @Test
+    void shouldStreamSmallEventsWithoutHoldingThem() throws Exception {
+        BookingEventDto event = new BookingEventDto();
+        event.setId(1L);
+        event.setType("CREATED");
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings/events"))
+                    .header("X-Sharer-User-Id", String.valueOf(owner.getId()))
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+            CompletableFuture<HttpResponse<InputStream>> future = client.sendAsync(request,
+                    HttpResponse.BodyHandlers.ofInputStream());
+
+            // заголовки уходят вместе с первым событием; событие меньше порога не должно задерживаться
+            while (!future.isDone()) {
+                bookingEventEmitters.send(owner.getId(), event);
+                Thread.sleep(50);
+            }
+
+            HttpResponse<InputStream> response = future.get();
+
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+            assertTrue(response.headers().firstValue("Content-Length").isEmpty());
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(),
+                    StandardCharsets.UTF_8))) {
+                assertEquals("id:1", reader.readLine());
+            }
+        }
+    }
+
+    private HttpResponse<byte[]> send(HttpClient.Version version, String path)
+            throws IOException, InterruptedException {
+        return send(version, path, "application/json");
+    }
+
+    private HttpResponse<byte[]> send(HttpClient.Version version, String path, String accept)
+            throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newBuilder().version(version).build()) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .header("X-Sharer-User-Id", String.valueOf(owner.getId()))
+                    .header("Accept", accept)
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.server;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ru.practicum.shareit.server.item.ItemService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ServiceMetricsTest {
+    private final ItemService itemService;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void shouldTimeItemSearch() {
+        itemService.search("text");
+        itemService.search("text");
+
+        Timer timer = meterRegistry.get("shareit.service")
+                .tag("method", "search")
+                .timer();
+
+        assertEquals(2, timer.count());
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.context.ActiveProfiles;
+
+import ru.practicum.shareit.server.config.WireFormatConfig;
+import ru.practicum.shareit.api.utils.DtoSamples;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Каждый DTO сервера и общего модуля api должен одинаково переживать JSON и CBOR
+@ActiveProfiles("test")
+@JsonTest
+@Import(WireFormatConfig.class)
+class WireFormatCompatibilityTest {
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Test
+    void shouldFindDtoClasses() {
+        List<Class<?>> dtoClasses = DtoSamples.findDtoClasses("ru.practicum.shareit");
+
+        assertTrue(dtoClasses.size() >= 10, "Найдено DTO: " + dtoClasses);
+    }
+
+    @Test
+    void shouldRoundTripEveryDtoThroughCbor() throws Exception {
+        ObjectMapper cborMapper = cborConverter.getObjectMapper();
+
+        for (Class<?> dtoClass : DtoSamples.findDtoClasses("ru.practicum.shareit")) {
+            Object dto = DtoSamples.create(dtoClass);
+
+            byte[] cbor = cborMapper.writeValueAsBytes(dto);
+            String json = objectMapper.writeValueAsString(dto);
+
+            assertEquals(dto, cborMapper.readValue(cbor, dtoClass), dtoClass.getName());
+            assertEquals(dto, objectMapper.readValue(json, dtoClass), dtoClass.getName());
+
+            JsonNode fromCbor = objectMapper.valueToTree(cborMapper.readValue(cbor, Object.class));
+            JsonNode fromJson = objectMapper.readTree(json);
+            assertEquals(fromJson, fromCbor, dtoClass.getName());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingShortDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Размер и время подготовки ответов списочных эндпоинтов (GET /items, GET /bookings/owner)
+// без сжатия и с gzip, как его выполняет Tomcat при server.compression.enabled=true.
+// Размер ответа в байтах печатается в конце каждого прогона.
+// Запуск: mvn -pl server -Pbenchmark -DskipTests verify -Dbenchmark=ListPayloadBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListPayloadBenchmark {
+    private static final String DATE = "2025-06-01T12:00:00";
+
+    @Param({"ITEMS", "BOOKINGS"})
+    private String endpoint;
+
+    @Param({"10", "100"})
+    private int size;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+    private List<?> payload;
+    private int bytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+        payload = "ITEMS".equals(endpoint) ? items() : bookings();
+        bytes = write().size();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s size=%d encoding=%s: %d байт%n", endpoint, size, encoding, bytes);
+    }
+
+    @Benchmark
+    public int response() throws IOException {
+        return write().size();
+    }
+
+    private ByteArrayOutputStream write() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+        try (OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(buffer) : buffer) {
+            objectMapper.writeValue(out, payload);
+        }
+
+        return buffer;
+    }
+
+    // Предметы владельца с последним/следующим бронированием и 10 встроенными отзывами
+    private List<ItemDetailedDto> items() {
+        List<ItemDetailedDto> items = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            ItemDetailedDto item = new ItemDetailedDto();
+            item.setId(i);
+            item.setOwnerId(1);
+            item.setName("Дрель " + i);
+            item.setDescription("Ударная дрель с набором свёрл по бетону и металлу, кейс в комплекте");
+            item.setAvailable(true);
+            item.setLastBooking(booking(i * 2));
+            item.setNextBooking(booking(i * 2 + 1));
+
+            List<CommentDto> comments = new ArrayList<>();
+            for (int c = 0; c < 10; c++) {
+                CommentDto comment = new CommentDto();
+                comment.setId(i * 10 + c);
+                comment.setItemId(i);
+                comment.setAuthorName("Пользователь " + c);
+                comment.setText("Отличная дрель, всё просверлила, вернул вовремя. Рекомендую!");
+                comment.setCreated(DATE);
+                comments.add(comment);
+            }
+            item.setComments(comments);
+            items.add(item);
+        }
+
+        return items;
+    }
+
+    // Бронирования владельца с вложенными предметом и арендатором
+    private List<BookingDto> bookings() {
+        List<BookingDto> bookings = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            ItemDto item = new ItemDto();
+            item.setId(i % 20);
+            item.setOwnerId(1);
+            item.setName("Дрель " + i % 20);
+            item.setDescription("Ударная дрель с набором свёрл по бетону и металлу, кейс в комплекте");
+            item.setAvailable(true);
+
+            UserDto booker = new UserDto();
+            booker.setId(100 + i % 30);
+            booker.setName("Пользователь " + i % 30);
+            booker.setEmail("user" + i % 30 + "@mail.ru");
+
+            BookingDto booking = new BookingDto();
+            booking.setId(i);
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStart(DATE);
+            booking.setEnd(DATE);
+            booking.setStatus("APPROVED");
+            bookings.add(booking);
+        }
+
+        return bookings;
+    }
+
+    private static BookingShortDto booking(int id) {
+        BookingShortDto booking = new BookingShortDto();
+        booking.setId(id);
+        booking.setStart(DATE);
+        booking.setEnd(DATE);
+        booking.setStatus("APPROVED");
+        return booking;
+    }
+}
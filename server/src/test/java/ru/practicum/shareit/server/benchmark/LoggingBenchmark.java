@@ -0,0 +1,110 @@
+package ru.practicum.shareit.server.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.*;
+
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Накладные расходы логирования на один запрос к серверу (две строки контроллера и две строки сервиса).
+// entityToString — прежний вариант с выводом сущности целиком, entitySummary — вывод только id.
+// ASYNC настроен как в logback-spring.xml модулей: события не отбрасываются, поэтому замер включает их запись.
+// Запуск: mvn -pl server -Pbenchmark -DskipTests verify -Dbenchmark=LoggingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+public class LoggingBenchmark {
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %t --- %logger{39} : %m%n";
+
+    @Param({"SYNC", "ASYNC"})
+    private String appender;
+
+    @Param({"DEBUG", "INFO"})
+    private String level;
+
+    private LoggerContext context;
+    private Logger log;
+    private Item item;
+    private int userId;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        log = context.getLogger("ru.practicum.shareit.server.item.ItemServiceImpl");
+        log.setLevel(Level.toLevel(level));
+        log.setAdditive(false);
+        log.addAppender("ASYNC".equals(appender) ? async(console) : console);
+
+        User owner = new User();
+        owner.setId(1);
+        owner.setName("owner");
+        owner.setEmail("owner@mail.ru");
+
+        item = new Item();
+        item.setId(42);
+        item.setOwner(owner);
+        item.setName("Дрель");
+        item.setDescription("Ударная дрель с набором свёрл по бетону и металлу");
+        item.setAvailable(true);
+        userId = owner.getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void entityToString() {
+        log.debug("server: PATCH /items/{}", item.getId());
+        log.debug("server: X-Sharer-User-Id = {}", userId);
+        log.debug("Исходное состояние предмета: {}", item);
+        log.debug("Изменён предмет: {}", item);
+    }
+
+    @Benchmark
+    public void entitySummary() {
+        log.debug("server: PATCH /items/{}", item.getId());
+        log.debug("server: X-Sharer-User-Id = {}", userId);
+        log.debug("Изменён предмет с id = {}", item.getId());
+    }
+
+    private Appender<ILoggingEvent> async(Appender<ILoggingEvent> delegate) {
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC_CONSOLE");
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setIncludeCallerData(false);
+        async.setNeverBlock(false);
+        async.addAppender(delegate);
+        async.start();
+        return async;
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.server.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ru.practicum.shareit.server.booking.model.BookingBoundaryEvent;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.server.booking.model.BookingTimes;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingBoundarySchedulerTest {
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final List<BookingBoundaryEvent> events = new CopyOnWriteArrayList<>();
+    private BookingBoundaryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new BookingBoundaryScheduler(bookingRepository, event -> events.add((BookingBoundaryEvent) event),
+                Duration.ofMillis(10), 64, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldPublishStartAndEndOfCreatedBooking() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        scheduler.onBookingChanged(new BookingChangedEvent(1, 2, 3, 4, now.plusNanos(100_000_000),
+                now.plusNanos(200_000_000), null, BookingStatus.WAITING));
+
+        awaitEvents(2);
+
+        assertEquals(BookingBoundaryEvent.Type.START, events.get(0).type());
+        assertEquals(BookingBoundaryEvent.Type.END, events.get(1).type());
+        assertEquals(2, events.get(1).itemId());
+        assertEquals(3, events.get(1).ownerId());
+    }
+
+    @Test
+    void shouldIgnoreStatusChanges() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        scheduler.onBookingChanged(new BookingChangedEvent(1, 2, 3, 4, now.plusNanos(50_000_000),
+                now.plusNanos(100_000_000), BookingStatus.WAITING, BookingStatus.APPROVED));
+
+        Thread.sleep(300);
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void shouldRebuildTimersFromDatabase() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        // текущее бронирование: уже началось, таймер нужен только на окончание
+        when(bookingRepository.streamByEndAfter(any(LocalDateTime.class)))
+                .thenReturn(Stream.of(new BookingTimes(1, 2, 3, now.minusHours(1), now.plusNanos(100_000_000))));
+
+        scheduler.rebuild();
+
+        awaitEvents(1);
+
+        assertEquals(BookingBoundaryEvent.Type.END, events.getFirst().type());
+    }
+
+    @Test
+    void shouldCancelBookingTimers() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        scheduler.onBookingChanged(new BookingChangedEvent(1, 2, 3, 4, now.plusNanos(50_000_000),
+                now.plusNanos(100_000_000), null, BookingStatus.WAITING));
+        scheduler.cancel(1);
+
+        Thread.sleep(300);
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void shouldScheduleBookingCreatedByOtherInstance() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        when(bookingRepository.findTimesById(1))
+                .thenReturn(Optional.of(new BookingTimes(1, 2, 3, now.plusNanos(100_000_000),
+                        now.plusNanos(200_000_000))));
+        scheduler.onRemoteChange(new RemoteChangeEvent(2, 1, 3));
+
+        awaitEvents(2);
+
+        assertEquals(BookingBoundaryEvent.Type.START, events.get(0).type());
+        assertEquals(BookingBoundaryEvent.Type.END, events.get(1).type());
+    }
+
+    @Test
+    void shouldCancelTimersOfBookingDeletedByOtherInstance() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+
+        scheduler.onBookingChanged(new BookingChangedEvent(1, 2, 3, 4, now.plusNanos(50_000_000),
+                now.plusNanos(100_000_000), null, BookingStatus.WAITING));
+        when(bookingRepository.findTimesById(1)).thenReturn(Optional.empty());
+        scheduler.onRemoteChange(new RemoteChangeEvent(2, 1, 3));
+
+        Thread.sleep(300);
+
+        assertTrue(events.isEmpty());
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+        while (events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(count, events.size());
+    }
+}
@@ -11,11 +11,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
-
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
-import ru.practicum.shareit.server.booking.model.BookingState;
-import ru.practicum.shareit.server.booking.model.BookingStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.exception.*;
 import ru.practicum.shareit.server.utils.BookingTestData;
 
@@ -26,6 +29,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
@@ -37,6 +41,8 @@ class BookingControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     private BookingService bookingService;
+    @MockBean
+    private BookingEventEmitters bookingEventEmitters;
 
     private final Random random = new Random();
 
@@ -57,8 +63,8 @@ class BookingControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(savedBooking.getId()))
                 .andExpect(jsonPath("$.status").value(savedBooking.getStatus()))
-                .andExpect(jsonPath("$.start").value(request.getStart()))
-                .andExpect(jsonPath("$.end").value(request.getEnd()))
+                .andExpect(jsonPath("$.start").value(savedBooking.getStart()))
+                .andExpect(jsonPath("$.end").value(savedBooking.getEnd()))
                 .andExpect(jsonPath("$.booker.id").value(savedBooking.getBooker().getId()))
                 .andExpect(jsonPath("$.item.id").value(savedBooking.getItem().getId()));
     }
@@ -133,13 +139,27 @@ class BookingControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void shouldNotChangeAlreadyDecidedBooking() throws Exception {
+        String message = String.format(ExceptionConstants.BOOKING_ALREADY_DECIDED, 1, BookingStatus.APPROVED);
+
+        when(bookingService.changeBookingStatus(anyInt(), anyInt(), anyBoolean()))
+                .thenThrow(new BookingStatusConflictException(message));
+
+        mockMvc.perform(patch("/bookings/" + 1)
+                        .param("approved", "false")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(message));
+    }
+
     @Test
     void shouldGetBookingById() throws Exception {
         BookingDto bookingDto = BookingTestData.createBookingDto(BookingTestData.createNewBookingDto(),
                 BookingStatus.APPROVED);
 
-        when(bookingService.findById(anyInt(), anyInt()))
-                .thenReturn(bookingDto);
+        when(bookingService.findTaggedById(anyInt(), anyInt()))
+                .thenReturn(new Tagged<>("bookings-0-0-0", bookingDto));
 
         mockMvc.perform(get("/bookings/" + bookingDto.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -155,7 +175,7 @@ class BookingControllerTest {
 
     @Test
     void shouldNotGetBookingByIdIfNoAccess() throws Exception {
-        when(bookingService.findById(anyInt(), anyInt()))
+        when(bookingService.findTaggedById(anyInt(), anyInt()))
                 .thenThrow(new NoAccessException("Нет доступа на просмотр бронирования"));
 
         mockMvc.perform(get("/bookings/" + 1)
@@ -166,7 +186,7 @@ class BookingControllerTest {
 
     @Test
     void shouldNotGetBookingByIdIfNotFoundBookingOrUser() throws Exception {
-        when(bookingService.findById(anyInt(), anyInt()))
+        when(bookingService.findTaggedById(anyInt(), anyInt()))
                 .thenThrow(new NotFoundException("not found"));
 
         mockMvc.perform(get("/bookings/" + 1)
@@ -236,4 +256,35 @@ class BookingControllerTest {
                         .param("state", BookingState.ALL.name()))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSubscribeToBookingEvents() throws Exception {
+        when(bookingEventEmitters.subscribe(anyInt()))
+                .thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/bookings/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void shouldGetOwnersSummary() throws Exception {
+        BookingSummaryDto summary = new BookingSummaryDto();
+        summary.setAll(3);
+        summary.setWaiting(1);
+        summary.setFuture(2);
+
+        when(bookingService.getOwnerSummary(anyInt()))
+                .thenReturn(summary);
+
+        mockMvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all").value(3))
+                .andExpect(jsonPath("$.waiting").value(1))
+                .andExpect(jsonPath("$.future").value(2))
+                .andExpect(jsonPath("$.past").value(0));
+    }
+}
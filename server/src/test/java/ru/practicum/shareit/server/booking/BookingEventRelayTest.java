@@ -0,0 +1,136 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import ru.practicum.shareit.server.booking.dto.BookingEventDto;
+import ru.practicum.shareit.server.booking.model.BookingEvent;
+import ru.practicum.shareit.server.booking.model.BookingEventType;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"shareit.booking-events.poll-interval=3600000",
+        "shareit.booking-events.cleanup-interval=3600000"})
+@Sql(scripts = {"/schema.sql", "/clear.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingEventRelayTest {
+    private final BookingEventRelay bookingEventRelay;
+    private final BookingEventRepository bookingEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private BookingEventEmitters bookingEventEmitters;
+
+    @BeforeEach
+    void startRelay() {
+        // первый проход выставляет курсор экземпляра
+        bookingEventRelay.relay();
+    }
+
+    @Test
+    void shouldSendEventsToOwnerAndBookerAndKeepThemForOtherInstances() {
+        BookingEvent event = bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now()));
+
+        bookingEventRelay.relay();
+
+        verify(bookingEventEmitters).send(eq(1), argThat(dto -> dto.getId().equals(event.getId())));
+        verify(bookingEventEmitters).send(eq(2), argThat(dto -> dto.getId().equals(event.getId())));
+        assertEquals(1, bookingEventRepository.count());
+    }
+
+    @Test
+    void shouldDeliverEventToSubscriber() {
+        bookingEventEmitters.subscribe(1);
+        bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now()));
+
+        bookingEventRelay.relay();
+
+        verify(bookingEventEmitters).send(eq(1), any(BookingEventDto.class));
+    }
+
+    @Test
+    void shouldNotResendDeliveredEvents() {
+        bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now()));
+
+        bookingEventRelay.relay();
+        bookingEventRelay.relay();
+
+        verify(bookingEventEmitters, times(1)).send(eq(1), any(BookingEventDto.class));
+    }
+
+    @Test
+    void shouldDeliverEventsOnEveryInstance() {
+        BookingEventEmitters otherEmitters = mock(BookingEventEmitters.class);
+        BookingEventRelay otherRelay = new BookingEventRelay(bookingEventRepository, otherEmitters, 100,
+                Duration.ofSeconds(10), Duration.ofMinutes(10));
+        otherRelay.relay();
+        bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now()));
+
+        bookingEventRelay.relay();
+        otherRelay.relay();
+
+        verify(bookingEventEmitters).send(eq(1), any(BookingEventDto.class));
+        verify(otherEmitters).send(eq(1), any(BookingEventDto.class));
+    }
+
+    @Test
+    void shouldDeliverEventCommittedAfterLaterOne() {
+        bookingEventRepository.save(createEvent(5, 6, LocalDateTime.now()));
+        bookingEventRelay.relay();
+        // транзакция с меньшим id ещё не зафиксирована, когда relay читает следующее событие
+        BookingEvent delayed = bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now()));
+        bookingEventRepository.delete(delayed);
+        BookingEvent event = bookingEventRepository.save(createEvent(3, 4, LocalDateTime.now()));
+
+        bookingEventRelay.relay();
+
+        verify(bookingEventEmitters).send(eq(3), argThat(dto -> dto.getId().equals(event.getId())));
+        verify(bookingEventEmitters, never()).send(eq(1), any(BookingEventDto.class));
+
+        jdbcTemplate.update("INSERT INTO booking_events (id, booking_id, item_id, owner_id, booker_id, event_type, " +
+                "status, date_created) VALUES (?, 10, 20, 1, 2, 'CREATED', 'WAITING', ?)",
+                delayed.getId(), LocalDateTime.now());
+
+        bookingEventRelay.relay();
+
+        verify(bookingEventEmitters).send(eq(1), argThat(dto -> dto.getId().equals(delayed.getId())));
+    }
+
+    @Test
+    void shouldDeleteEventsAfterRetention() {
+        bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now().minusHours(1)));
+        BookingEvent fresh = bookingEventRepository.save(createEvent(1, 2, LocalDateTime.now()));
+
+        bookingEventRelay.cleanup();
+
+        assertEquals(1, bookingEventRepository.count());
+        assertTrue(bookingEventRepository.existsById(fresh.getId()));
+    }
+
+    private static BookingEvent createEvent(int ownerId, int bookerId, LocalDateTime created) {
+        BookingEvent event = new BookingEvent();
+
+        event.setBookingId(10);
+        event.setItemId(20);
+        event.setOwnerId(ownerId);
+        event.setBookerId(bookerId);
+        event.setType(BookingEventType.CREATED);
+        event.setStatus(BookingStatus.WAITING);
+        event.setCreated(created);
+
+        return event;
+    }
+}
@@ -11,7 +11,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
 import ru.practicum.shareit.server.booking.model.Booking;
-import ru.practicum.shareit.server.booking.model.BookingStatus;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.UserRepository;
@@ -121,6 +121,32 @@ class BookingRepositoryTest {
         assertTrue(bookings.contains(pastBooking));
     }
 
+    @Test
+    void shouldCheckApprovedPastBookingOfItem() {
+        User owner = userRepository.save(UserTestData.createNewUser());
+        Item item = itemRepository.save(ItemTestData.createNewItem(owner));
+        Item otherItem = itemRepository.save(ItemTestData.createNewItem(owner));
+        User booker = userRepository.save(UserTestData.createNewUser());
+        LocalDateTime now = LocalDateTime.now();
+
+        Booking pastBooking = BookingTestData.createNewBooking(item, booker, now.minusHours(5));
+        pastBooking.setStatus(BookingStatus.APPROVED);
+        bookingRepository.save(pastBooking);
+        bookingRepository.save(BookingTestData.createNewBooking(otherItem, booker, now.minusHours(5)));
+
+        assertTrue(bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(booker.getId(), item.getId(),
+                now, BookingStatus.APPROVED));
+        // аренда ещё не завершилась
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(booker.getId(), item.getId(),
+                now.minusHours(5), BookingStatus.APPROVED));
+        // аренда не подтверждена
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(booker.getId(),
+                otherItem.getId(), now, BookingStatus.APPROVED));
+        // другой пользователь
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(owner.getId(), item.getId(),
+                now, BookingStatus.APPROVED));
+    }
+
     @Test
     void shouldFindFutureBookingsForBooker() {
         User owner = userRepository.save(UserTestData.createNewUser());
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.server.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+import ru.practicum.shareit.server.exception.BookingStatusConflictException;
+import ru.practicum.shareit.server.item.ItemService;
+import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.utils.BookingTestData;
+import ru.practicum.shareit.server.utils.ItemTestData;
+import ru.practicum.shareit.server.utils.UserTestData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Без @Transactional: каждое решение владельца выполняется в собственной транзакции, как при реальных запросах
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+
+    @Test
+    void shouldApplyOnlyOneOfConcurrentDecisions() throws Exception {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                BookingDto booking = bookingService.createBooking(booker.getId(),
+                        BookingTestData.createNewBookingDto(item, false));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<BookingDto>> results = new ArrayList<>();
+
+                for (int i = 0; i < THREADS; i++) {
+                    // половина запросов подтверждает бронирование, половина отклоняет
+                    boolean approved = i % 2 == 0;
+
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return bookingService.changeBookingStatus(owner.getId(), booking.getId(), approved);
+                    }));
+                }
+
+                start.countDown();
+
+                List<BookingDto> applied = new ArrayList<>();
+                int conflicts = 0;
+
+                for (Future<BookingDto> result : results) {
+                    try {
+                        applied.add(result.get(30, TimeUnit.SECONDS));
+                    } catch (ExecutionException ex) {
+                        assertInstanceOf(BookingStatusConflictException.class, ex.getCause());
+                        conflicts++;
+                    }
+                }
+
+                assertEquals(1, applied.size());
+                assertEquals(THREADS - 1, conflicts);
+                assertEquals(applied.getFirst().getStatus(),
+                        bookingService.findById(owner.getId(), booking.getId()).getStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+            userService.deleteById(booker.getId());
+            userService.deleteById(owner.getId());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,14 +10,20 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.server.booking.model.BookingEvent;
+import ru.practicum.shareit.server.booking.model.BookingEventType;
+import ru.practicum.shareit.api.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.item.ItemService;
 import ru.practicum.shareit.server.item.ItemServiceImpl;
-import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.item.ItemViewCache;
+import ru.practicum.shareit.api.item.dto.ItemDto;
 import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.EmailBloomFilter;
 import ru.practicum.shareit.server.user.UserServiceImpl;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.utils.BookingTestData;
 import ru.practicum.shareit.server.utils.ItemTestData;
 import ru.practicum.shareit.server.utils.UserTestData;
@@ -29,7 +36,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 @Transactional
 @DataJpaTest
-@Import(value = {ItemServiceImpl.class, UserServiceImpl.class, BookingServiceImpl.class})
+@Import(value = {ItemServiceImpl.class, UserServiceImpl.class, EmailBloomFilter.class, BookingServiceImpl.class,
+        BookingSummaryCounters.class, ItemViewCache.class, SimpleMeterRegistry.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = {"/schema.sql", "/clear.sql"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -37,6 +45,7 @@ class BookingServiceImplIntegrationTest {
     private final BookingService bookingService;
     private final ItemService itemService;
     private final UserService userService;
+    private final BookingEventRepository bookingEventRepository;
 
     @Test
     void shouldFindAllBookersBookingsWithGivenState() {
@@ -104,4 +113,95 @@ class BookingServiceImplIntegrationTest {
         bookings = bookingService.findAllByBookerId(booker.getId(), BookingState.REJECTED.name());
         assertEquals(1, bookings.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldWriteOutboxEventsWithBookingChanges() {
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, false));
+        bookingService.changeBookingStatus(owner.getId(), booking.getId(), true);
+
+        List<BookingEvent> events = bookingEventRepository.findAll();
+
+        assertEquals(2, events.size());
+        assertEquals(BookingEventType.CREATED, events.get(0).getType());
+        assertEquals(BookingStatus.WAITING, events.get(0).getStatus());
+        assertEquals(BookingEventType.STATUS_CHANGED, events.get(1).getType());
+        assertEquals(BookingStatus.APPROVED, events.get(1).getStatus());
+        assertEquals(owner.getId(), events.get(1).getOwnerId());
+        assertEquals(booker.getId(), events.get(1).getBookerId());
+        assertEquals(item.getId(), events.get(1).getItemId());
+    }
+
+    @Test
+    void shouldCountOwnersBookingsByState() {
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+
+        bookingService.createBooking(booker.getId(), BookingTestData.createNewBookingDto(item, true));
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, LocalDateTime.now().minusHours(1),
+                        LocalDateTime.now().plusHours(1)));
+        bookingService.changeBookingStatus(owner.getId(), booking.getId(), true);
+        booking = bookingService.createBooking(booker.getId(), BookingTestData.createNewBookingDto(item, false));
+        bookingService.changeBookingStatus(owner.getId(), booking.getId(), false);
+
+        BookingSummaryDto summary = bookingService.getOwnerSummary(owner.getId());
+
+        assertEquals(bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL.name()).size(),
+                summary.getAll());
+        assertEquals(bookingService.findAllByOwnerId(owner.getId(), BookingState.WAITING.name()).size(),
+                summary.getWaiting());
+        assertEquals(bookingService.findAllByOwnerId(owner.getId(), BookingState.REJECTED.name()).size(),
+                summary.getRejected());
+        assertEquals(bookingService.findAllByOwnerId(owner.getId(), BookingState.CURRENT.name()).size(),
+                summary.getCurrent());
+        assertEquals(bookingService.findAllByOwnerId(owner.getId(), BookingState.FUTURE.name()).size(),
+                summary.getFuture());
+        assertEquals(bookingService.findAllByOwnerId(owner.getId(), BookingState.PAST.name()).size(),
+                summary.getPast());
+        assertEquals(3, summary.getAll());
+    }
+
+    @Test
+    void shouldFindEntityTagOnlyForParticipants() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        UserDto stranger = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, false));
+
+        String tag = bookingService.findEntityTag(booker.getId(), booking.getId()).orElseThrow();
+
+        assertEquals(tag, bookingService.findEntityTag(owner.getId(), booking.getId()).orElseThrow());
+        assertTrue(bookingService.findEntityTag(stranger.getId(), booking.getId()).isEmpty());
+
+        bookingService.changeBookingStatus(owner.getId(), booking.getId(), true);
+
+        assertNotEquals(tag, bookingService.findEntityTag(booker.getId(), booking.getId()).orElseThrow());
+        assertEquals(bookingService.findEntityTag(owner.getId(), booking.getId()).orElseThrow(),
+                bookingService.findTaggedById(owner.getId(), booking.getId()).entityTag());
+    }
+
+    @Test
+    void shouldFindOwnersBookingsOfDeletedBookerUntilPurge() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, false));
+
+        userService.deleteById(booker.getId());
+
+        List<BookingDto> bookings = bookingService.findAllByOwnerId(owner.getId(), BookingState.ALL.name());
+
+        assertEquals(1, bookings.size());
+        assertEquals(booking.getId(), bookings.getFirst().getId());
+        assertEquals(booker.getId(), bookings.getFirst().getBooker().getId());
+        assertEquals(booking.getId(), bookingService.findById(owner.getId(), booking.getId()).getId());
+    }
+}
@@ -9,11 +9,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
 import ru.practicum.shareit.server.booking.model.Booking;
-import ru.practicum.shareit.server.booking.model.BookingState;
-import ru.practicum.shareit.server.booking.model.BookingStatus;
+import ru.practicum.shareit.api.booking.model.BookingState;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.exception.*;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.model.Item;
@@ -30,6 +30,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("test")
@@ -40,6 +42,8 @@ class BookingServiceImplUnitTest {
     @MockBean
     private BookingRepository bookingRepository;
     @MockBean
+    private BookingEventRepository bookingEventRepository;
+    @MockBean
     private UserRepository userRepository;
     @MockBean
     private ItemRepository itemRepository;
@@ -64,8 +68,8 @@ class BookingServiceImplUnitTest {
         BookingDto result = bookingService.createBooking(booker.getId(), request);
 
         assertEquals(booking.getId(), result.getId());
-        assertEquals(request.getStart(), result.getStart());
-        assertEquals(request.getEnd(), result.getEnd());
+        assertEquals(request.getStart(), LocalDateTime.parse(result.getStart()));
+        assertEquals(request.getEnd(), LocalDateTime.parse(result.getEnd()));
         assertEquals(item.getId(), result.getItem().getId());
         assertEquals(booker.getId(), result.getBooker().getId());
         assertEquals(booking.getStatus().name(), result.getStatus());
@@ -89,8 +93,8 @@ class BookingServiceImplUnitTest {
 
         NewBookingDto request = new NewBookingDto();
         request.setItemId(999);
-        request.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().plusHours(1)));
-        request.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().plusHours(2)));
+        request.setStart(LocalDateTime.now().plusHours(1));
+        request.setEnd(LocalDateTime.now().plusHours(2));
 
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(booker));
@@ -125,8 +129,6 @@ class BookingServiceImplUnitTest {
         User booker = UserTestData.createUser();
         Booking booking = BookingTestData.createBooking(item, booker, false);
 
-        when(bookingRepository.findById(anyInt()))
-                .thenReturn(Optional.of(booking));
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(owner));
 
@@ -138,8 +140,12 @@ class BookingServiceImplUnitTest {
         updatedBooking.setStart(booking.getStart());
         updatedBooking.setEnd(booking.getEnd());
 
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(updatedBooking);
+        when(bookingRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booking))
+                .thenReturn(Optional.of(updatedBooking));
+        when(bookingRepository.updateStatusIfCurrent(booking.getId(), updatedBooking.getStatus(),
+                BookingStatus.WAITING))
+                .thenReturn(1);
 
         BookingDto result = bookingService.changeBookingStatus(owner.getId(), booking.getId(), approved);
 
@@ -151,6 +157,41 @@ class BookingServiceImplUnitTest {
         assertEquals(updatedBooking.getStatus().name(), result.getStatus());
     }
 
+    @Test
+    void shouldNotChangeAlreadyDecidedBooking() {
+        User owner = UserTestData.createUser();
+        Booking booking = BookingTestData.createBooking(ItemTestData.createItem(owner), UserTestData.createUser(),
+                false);
+        booking.setStatus(BookingStatus.APPROVED);
+
+        when(bookingRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booking));
+        when(userRepository.findById(anyInt()))
+                .thenReturn(Optional.of(owner));
+
+        assertThrows(BookingStatusConflictException.class,
+                () -> bookingService.changeBookingStatus(owner.getId(), booking.getId(), false));
+        verify(bookingRepository, never()).updateStatusIfCurrent(anyInt(), any(), any());
+    }
+
+    @Test
+    void shouldNotChangeBookingStatusChangedConcurrently() {
+        User owner = UserTestData.createUser();
+        Booking booking = BookingTestData.createBooking(ItemTestData.createItem(owner), UserTestData.createUser(),
+                false);
+
+        when(bookingRepository.findById(anyInt()))
+                .thenReturn(Optional.of(booking));
+        when(userRepository.findById(anyInt()))
+                .thenReturn(Optional.of(owner));
+        when(bookingRepository.updateStatusIfCurrent(anyInt(), any(), any()))
+                .thenReturn(0);
+
+        assertThrows(BookingStatusConflictException.class,
+                () -> bookingService.changeBookingStatus(owner.getId(), booking.getId(), true));
+        verify(bookingEventRepository, never()).save(any());
+    }
+
     @Test
     void shouldNotChangeBookingStatusByUnknownUser() {
         User owner = UserTestData.createUser();
@@ -0,0 +1,209 @@
+package ru.practicum.shareit.server.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ru.practicum.shareit.api.booking.dto.BookingSummaryDto;
+import ru.practicum.shareit.server.booking.model.BookingBoundaryEvent;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingCounts;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSummaryCountersTest {
+    private static final int OWNER_ID = 1;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingSummaryCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new BookingSummaryCounters(bookingRepository, 10000, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void shouldLoadCountersOnce() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 5L, 1L, 1L, 1L, 2L, 2L)));
+
+        counters.getSummary(OWNER_ID);
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(5, summary.getAll());
+        assertEquals(2, summary.getFuture());
+        verify(bookingRepository, times(1)).countByOwnerIds(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnZerosForOwnerWithoutBookings() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(0, summary.getAll());
+        assertEquals(0, summary.getWaiting());
+    }
+
+    @Test
+    void shouldUpdateCountersOnBookingChanges() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of());
+        counters.getSummary(OWNER_ID);
+
+        counters.onBookingChanged(createEvent(null, BookingStatus.WAITING));
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(1, summary.getAll());
+        assertEquals(1, summary.getWaiting());
+        assertEquals(1, summary.getFuture());
+
+        counters.onBookingChanged(createEvent(BookingStatus.WAITING, BookingStatus.REJECTED));
+        summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(1, summary.getAll());
+        assertEquals(0, summary.getWaiting());
+        assertEquals(1, summary.getRejected());
+    }
+
+    @Test
+    void shouldIgnoreChangesForNotLoadedOwner() {
+        counters.onBookingChanged(createEvent(null, BookingStatus.WAITING));
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void shouldReplaceCountersOnReconcile() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 2L, 0L, 0L, 0L, 0L, 2L)));
+        counters.getSummary(OWNER_ID);
+
+        counters.reconcile();
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(2, summary.getAll());
+        assertEquals(2, summary.getPast());
+    }
+
+    @Test
+    void shouldEvictIdleOwnersOnReconcile() {
+        counters = new BookingSummaryCounters(bookingRepository, 10000, Duration.ZERO);
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 2L, 0L, 0L, 0L, 0L, 2L)));
+        counters.getSummary(OWNER_ID);
+
+        counters.reconcile();
+
+        // сверка не запрашивает удалённого владельца, следующий запрос загружает его заново
+        verify(bookingRepository, times(1)).countByOwnerIds(anyCollection(), any(), any(), any());
+        counters.getSummary(OWNER_ID);
+        verify(bookingRepository, times(2)).countByOwnerIds(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void shouldKeepNoMoreThanMaxSizeOwners() {
+        counters = new BookingSummaryCounters(bookingRepository, 2, Duration.ofMinutes(30));
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of());
+
+        for (int ownerId = 1; ownerId <= 5; ownerId++) {
+            counters.getSummary(ownerId);
+        }
+        clearInvocations(bookingRepository);
+
+        counters.reconcile();
+
+        verify(bookingRepository).countByOwnerIds(argThat(ownerIds -> ownerIds.size() == 2), any(), any(), any());
+    }
+
+    @Test
+    void shouldReloadCountersAfterBookingDeletion() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 2L, 0L, 0L, 0L, 0L, 2L)))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 1L, 0L, 0L, 0L, 0L, 1L)));
+        counters.getSummary(OWNER_ID);
+
+        counters.onBookingDeleted(new BookingDeletedEvent(1, 1, OWNER_ID));
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(1, summary.getAll());
+        verify(bookingRepository, times(2)).countByOwnerIds(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReloadCountersAfterChangeOfOtherInstance() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 1L, 0L, 0L, 0L, 0L, 1L)))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 2L, 0L, 0L, 0L, 0L, 2L)));
+        counters.getSummary(OWNER_ID);
+
+        // изменение вещи без бронирования счётчики не трогает
+        counters.onRemoteChange(new RemoteChangeEvent(1, null, null));
+        counters.getSummary(OWNER_ID);
+        counters.onRemoteChange(new RemoteChangeEvent(1, 2, OWNER_ID));
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(2, summary.getAll());
+        verify(bookingRepository, times(2)).countByOwnerIds(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void shouldMoveBookingBetweenTimeStatesOnBoundaries() {
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 1L, 0L, 0L, 0L, 1L, 0L)));
+        counters.getSummary(OWNER_ID);
+
+        LocalDateTime now = LocalDateTime.now();
+        counters.onBookingBoundary(new BookingBoundaryEvent(1, 1, OWNER_ID, BookingBoundaryEvent.Type.START,
+                now.plusSeconds(1)));
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(0, summary.getFuture());
+        assertEquals(1, summary.getCurrent());
+
+        counters.onBookingBoundary(new BookingBoundaryEvent(1, 1, OWNER_ID, BookingBoundaryEvent.Type.END,
+                now.plusSeconds(2)));
+        summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(0, summary.getCurrent());
+        assertEquals(1, summary.getPast());
+    }
+
+    @Test
+    void shouldIgnoreBoundaryCountedOnLoad() {
+        LocalDateTime boundary = LocalDateTime.now();
+
+        when(bookingRepository.countByOwnerIds(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(new BookingCounts(OWNER_ID, 1L, 0L, 0L, 1L, 0L, 0L)));
+        counters.getSummary(OWNER_ID);
+
+        counters.onBookingBoundary(new BookingBoundaryEvent(1, 1, OWNER_ID, BookingBoundaryEvent.Type.START,
+                boundary));
+        BookingSummaryDto summary = counters.getSummary(OWNER_ID);
+
+        assertEquals(1, summary.getCurrent());
+        assertEquals(0, summary.getFuture());
+    }
+
+    private static BookingChangedEvent createEvent(BookingStatus previousStatus, BookingStatus status) {
+        return new BookingChangedEvent(1, 1, OWNER_ID, 2, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), previousStatus, status);
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.server.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+import ru.practicum.shareit.server.item.ItemViewCache;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"shareit.cache-events.poll-interval=3600000",
+        "shareit.cache-events.cleanup-interval=3600000"})
+@Sql(scripts = {"/schema.sql", "/clear.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CacheEventRelayTest {
+    private final CacheEventRelay cacheEventRelay;
+    private final CacheEventRepository cacheEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private ItemViewCache itemViewCache;
+
+    @BeforeEach
+    void startRelay() {
+        cacheEventRelay.relay();
+    }
+
+    @Test
+    void shouldApplyChangesOfOtherInstanceOnly() {
+        ApplicationEventPublisher otherPublisher = mock(ApplicationEventPublisher.class);
+        CacheEventRelay otherRelay = createOtherRelay(otherPublisher);
+        otherRelay.relay();
+
+        cacheEventRelay.onItemChanged(new ItemChangedEvent(1));
+        otherRelay.onBookingChanged(createBookingChanged());
+
+        cacheEventRelay.relay();
+        otherRelay.relay();
+
+        verify(itemViewCache).onRemoteChange(new RemoteChangeEvent(2, 3, 4));
+        verify(itemViewCache, never()).onRemoteChange(new RemoteChangeEvent(1, null, null));
+        verify(otherPublisher).publishEvent(new RemoteChangeEvent(1, null, null));
+        verify(otherPublisher, never()).publishEvent(new RemoteChangeEvent(2, 3, 4));
+    }
+
+    @Test
+    void shouldSkipChangesMadeBeforeStart() {
+        createOtherRelay(mock(ApplicationEventPublisher.class)).onItemChanged(new ItemChangedEvent(1));
+        ApplicationEventPublisher startedPublisher = mock(ApplicationEventPublisher.class);
+        CacheEventRelay startedRelay = createOtherRelay(startedPublisher);
+
+        startedRelay.relay();
+        startedRelay.relay();
+
+        verify(startedPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldDeleteEventsAfterRetention() {
+        cacheEventRelay.onItemChanged(new ItemChangedEvent(1));
+        cacheEventRelay.onItemChanged(new ItemChangedEvent(2));
+        jdbcTemplate.update("UPDATE cache_events SET date_created = ? WHERE item_id = 1",
+                LocalDateTime.now().minusHours(1));
+
+        cacheEventRelay.cleanup();
+
+        assertEquals(1, cacheEventRepository.count());
+    }
+
+    private CacheEventRelay createOtherRelay(ApplicationEventPublisher eventPublisher) {
+        return new CacheEventRelay(cacheEventRepository, eventPublisher, 500, Duration.ofSeconds(10),
+                Duration.ofMinutes(10));
+    }
+
+    private BookingChangedEvent createBookingChanged() {
+        LocalDateTime now = LocalDateTime.now();
+
+        return new BookingChangedEvent(3, 2, 4, 5, now.plusDays(1), now.plusDays(2), null, BookingStatus.WAITING);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -15,6 +16,7 @@ import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.utils.ItemTestData;
 import ru.practicum.shareit.server.utils.UserTestData;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -63,39 +65,75 @@ class CommentRepositoryTest {
     }
 
     @Test
-    void shouldFindCommentsByItemId() {
+    void shouldFindNewestCommentsByItemId() {
         User owner = userRepository.save(UserTestData.createNewUser());
         Item item = itemRepository.save(ItemTestData.createNewItem(owner));
+        User author = userRepository.save(UserTestData.createNewUser());
+        LocalDateTime created = LocalDateTime.now().withNano(0);
 
-        User author1 = userRepository.save(UserTestData.createNewUser());
-        User author2 = userRepository.save(UserTestData.createNewUser());
+        Comment oldest = saveComment(item, author, created.minusDays(1));
+        Comment middle = saveComment(item, author, created);
+        Comment newest = saveComment(item, author, created);
 
-        Comment comment1 = commentRepository.save(ItemTestData.createNewComment(item, author1));
-        Comment comment2 = commentRepository.save(ItemTestData.createNewComment(item, author2));
+        List<Comment> commentList = commentRepository.findByItemIdOrderByCreatedDescIdDesc(item.getId(),
+                Limit.of(2));
 
-        List<Comment> commentList = commentRepository.findByItemId(item.getId());
+        // при одинаковой дате порядок определяет id
+        assertEquals(List.of(newest, middle), commentList);
+        assertEquals(List.of(newest, middle, oldest),
+                commentRepository.findByItemIdOrderByCreatedDescIdDesc(item.getId(), Limit.of(10)));
+    }
 
-        assertEquals(2, commentList.size());
-        assertTrue(commentList.contains(comment1));
-        assertTrue(commentList.contains(comment2));
+    @Test
+    void shouldFindCommentsByItemIdBeforeCursor() {
+        User owner = userRepository.save(UserTestData.createNewUser());
+        Item item = itemRepository.save(ItemTestData.createNewItem(owner));
+        Item otherItem = itemRepository.save(ItemTestData.createNewItem(owner));
+        User author = userRepository.save(UserTestData.createNewUser());
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+
+        Comment oldest = saveComment(item, author, created.minusDays(1));
+        Comment middle = saveComment(item, author, created);
+        Comment newest = saveComment(item, author, created);
+        saveComment(otherItem, author, created.minusDays(2));
+
+        List<Comment> secondPage = commentRepository.findByItemIdBefore(item.getId(), newest.getCreated(),
+                newest.getId(), Limit.of(1));
+        List<Comment> thirdPage = commentRepository.findByItemIdBefore(item.getId(), middle.getCreated(),
+                middle.getId(), Limit.of(1));
+        List<Comment> lastPage = commentRepository.findByItemIdBefore(item.getId(), oldest.getCreated(),
+                oldest.getId(), Limit.of(1));
+
+        assertEquals(List.of(middle), secondPage);
+        assertEquals(List.of(oldest), thirdPage);
+        assertTrue(lastPage.isEmpty());
     }
 
     @Test
-    void shouldFindCommentsByItemIdIn() {
+    void shouldFindLatestCommentsByItemIdIn() {
         User owner = userRepository.save(UserTestData.createNewUser());
 
         Item item1 = itemRepository.save(ItemTestData.createNewItem(owner));
         Item item2 = itemRepository.save(ItemTestData.createNewItem(owner));
 
         User author = userRepository.save(UserTestData.createNewUser());
+        LocalDateTime created = LocalDateTime.now().withNano(0);
+
+        saveComment(item1, author, created.minusDays(2));
+        Comment comment1 = saveComment(item1, author, created.minusDays(1));
+        Comment comment2 = saveComment(item1, author, created);
+        Comment comment3 = saveComment(item2, author, created);
 
-        Comment comment1 = commentRepository.save(ItemTestData.createNewComment(item1, author));
-        Comment comment2 = commentRepository.save(ItemTestData.createNewComment(item2, author));
+        List<Comment> commentList = commentRepository.findLatestByItemIdIn(List.of(item1.getId(), item2.getId()), 2);
+
+        assertEquals(3, commentList.size());
+        assertTrue(commentList.containsAll(List.of(comment1, comment2, comment3)));
+    }
 
-        List<Comment> commentList = commentRepository.findByItemIdIn(List.of(item1.getId(), item2.getId()));
+    private Comment saveComment(Item item, User author, LocalDateTime created) {
+        Comment comment = ItemTestData.createNewComment(item, author);
+        comment.setCreated(created);
 
-        assertEquals(2, commentList.size());
-        assertTrue(commentList.contains(comment1));
-        assertTrue(commentList.contains(comment2));
+        return commentRepository.save(comment);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.server.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.user.UserRepository;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.utils.ItemTestData;
+import ru.practicum.shareit.server.utils.UserTestData;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Количество SQL-запросов при выдаче комментариев не должно зависеть от числа комментариев и их авторов
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(value = {ItemServiceImpl.class, ItemViewCache.class, SimpleMeterRegistry.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"/schema.sql", "/clear.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CommentStatementCountTest {
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void shouldFindItemWithConstantStatementCount() {
+        User owner = userRepository.save(UserTestData.createNewUser());
+        Item fewComments = createItemWithComments(owner, 1);
+        Item manyComments = createItemWithComments(owner, 10);
+
+        long few = countStatements(() -> itemService.findById(owner.getId(), fewComments.getId()));
+        long many = countStatements(() -> {
+            ItemDetailedDto dto = itemService.findById(owner.getId(), manyComments.getId());
+
+            assertEquals(10, dto.getComments().size());
+            dto.getComments().forEach(comment -> assertNotNull(comment.getAuthorName()));
+        });
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void shouldFindUserItemsWithConstantStatementCount() {
+        User owner1 = userRepository.save(UserTestData.createNewUser());
+        createItemWithComments(owner1, 1);
+
+        User owner2 = userRepository.save(UserTestData.createNewUser());
+        createItemWithComments(owner2, 5);
+        createItemWithComments(owner2, 5);
+        createItemWithComments(owner2, 5);
+
+        long few = countStatements(() -> itemService.findByUserId(owner1.getId()));
+        long many = countStatements(() -> {
+            List<ItemDetailedDto> items = itemService.findByUserId(owner2.getId());
+
+            assertEquals(3, items.size());
+            items.forEach(item -> assertEquals(5, item.getComments().size()));
+        });
+
+        assertEquals(few, many);
+    }
+
+    @Test
+    void shouldFindCommentsPageWithConstantStatementCount() {
+        User owner = userRepository.save(UserTestData.createNewUser());
+        Item fewComments = createItemWithComments(owner, 1);
+        Item manyComments = createItemWithComments(owner, 20);
+
+        long few = countStatements(() -> itemService.findComments(fewComments.getId(), null, null, 20));
+        long many = countStatements(() -> assertEquals(20,
+                itemService.findComments(manyComments.getId(), null, null, 20).size()));
+
+        assertEquals(few, many);
+    }
+
+    // у каждого комментария свой автор - худший случай для ленивой загрузки
+    private Item createItemWithComments(User owner, int count) {
+        Item item = itemRepository.save(ItemTestData.createNewItem(owner));
+
+        for (int i = 0; i < count; i++) {
+            User author = userRepository.save(UserTestData.createNewUser());
+            commentRepository.save(ItemTestData.createNewComment(item, author));
+        }
+
+        return item;
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        action.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+}
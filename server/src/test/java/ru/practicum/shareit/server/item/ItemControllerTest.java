@@ -5,18 +5,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.exception.ExceptionConstants;
 import ru.practicum.shareit.server.exception.NoAccessException;
 import ru.practicum.shareit.server.exception.NotAvailableException;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 import ru.practicum.shareit.server.utils.ItemTestData;
 import ru.practicum.shareit.server.utils.RandomUtils;
 
@@ -28,6 +30,7 @@ import java.util.Random;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -86,8 +89,8 @@ class ItemControllerTest {
     void shouldGetItemById() throws Exception {
         ItemDetailedDto item = ItemTestData.createItemDetailedDto();
 
-        when(itemService.findById(anyInt(), anyInt()))
-                .thenReturn(item);
+        when(itemService.findTaggedById(anyInt(), anyInt()))
+                .thenReturn(new Tagged<>("items-1-0-0-0", item));
 
         mockMvc.perform(get("/items/" + item.getId())
                         .header("X-Sharer-User-Id", item.getOwnerId())
@@ -100,9 +103,28 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.ownerId").value(item.getOwnerId()));
     }
 
+    @Test
+    void shouldAnswerNotModifiedForCurrentEntityTag() throws Exception {
+        ItemDetailedDto item = ItemTestData.createItemDetailedDto();
+        String etag = "items-1-0-0-0";
+
+        when(itemService.findTaggedById(item.getOwnerId(), item.getId()))
+                .thenReturn(new Tagged<>(etag, item));
+
+        mockMvc.perform(get("/items/" + item.getId())
+                        .header("X-Sharer-User-Id", item.getOwnerId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + etag + "\""));
+        mockMvc.perform(get("/items/" + item.getId())
+                        .header("X-Sharer-User-Id", item.getOwnerId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + etag + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + etag + "\""));
+    }
+
     @Test
     void shouldNotGetUnknownItem() throws Exception {
-        when(itemService.findById(anyInt(), anyInt()))
+        when(itemService.findTaggedById(anyInt(), anyInt()))
                 .thenThrow(new NotFoundException(String.format(ExceptionConstants.ITEM_NOT_FOUND_BY_ID, 999)));
 
         mockMvc.perform(get("/items/" + 999)
@@ -231,6 +253,25 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.created").value(savedComment.getCreated()));
     }
 
+    @Test
+    void shouldGetComments() throws Exception {
+        LocalDateTime before = LocalDateTime.now().withNano(0);
+        CommentDto comment = ItemTestData.createNewCommentDto();
+        comment.setId(1);
+
+        when(itemService.findComments(2, before, 3, 10))
+                .thenReturn(List.of(comment));
+
+        mockMvc.perform(get("/items/2/comments")
+                        .header("X-Sharer-User-Id", 1)
+                        .param("before", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(before))
+                        .param("beforeId", "3")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
     @Test
     void shouldNotCreateCommentIfNotFoundItemOrUser() throws Exception {
         CommentDto request = ItemTestData.createNewCommentDto();
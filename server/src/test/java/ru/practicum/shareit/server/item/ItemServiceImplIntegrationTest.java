@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,15 +10,22 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.booking.BookingService;
 import ru.practicum.shareit.server.booking.BookingServiceImpl;
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.server.booking.BookingSummaryCounters;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.server.exception.NotAvailableException;
+import ru.practicum.shareit.server.exception.NotFoundException;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.EmailBloomFilter;
 import ru.practicum.shareit.server.user.UserServiceImpl;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.utils.BookingTestData;
 import ru.practicum.shareit.server.utils.ItemTestData;
 import ru.practicum.shareit.server.utils.UserTestData;
@@ -25,12 +33,17 @@ import ru.practicum.shareit.server.utils.UserTestData;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ActiveProfiles("test")
 @Transactional
 @DataJpaTest
-@Import(value = {ItemServiceImpl.class, UserServiceImpl.class, BookingServiceImpl.class})
+@Import(value = {ItemServiceImpl.class, UserServiceImpl.class, EmailBloomFilter.class, BookingServiceImpl.class,
+        BookingSummaryCounters.class, ItemViewCache.class, SimpleMeterRegistry.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = {"/schema.sql", "/clear.sql"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -59,6 +72,7 @@ class ItemServiceImplIntegrationTest {
             UserDto bookerCompleted = userService.createUser(UserTestData.createNewUserDto());
             BookingDto completedBooking = bookingService.createBooking(bookerCompleted.getId(),
                     BookingTestData.createNewBookingDto(itemDto, true));
+            bookingService.changeBookingStatus(itemDto.getOwnerId(), completedBooking.getId(), true);
 
             UserDto bookerFuture = userService.createUser(UserTestData.createNewUserDto());
             BookingDto futureBooking = bookingService.createBooking(bookerFuture.getId(),
@@ -80,4 +94,126 @@ class ItemServiceImplIntegrationTest {
             assertEquals(itemDetailedDto.getId(), itemDetailedDto.getComments().getFirst().getItemId());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotCreateCommentWithoutApprovedCompletedBooking() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        ItemDto otherItem = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+
+        // завершённая, но не подтверждённая аренда и подтверждённая аренда другого предмета
+        bookingService.createBooking(booker.getId(), BookingTestData.createNewBookingDto(item, true));
+        BookingDto otherBooking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(otherItem, true));
+        bookingService.changeBookingStatus(owner.getId(), otherBooking.getId(), true);
+
+        assertThrows(NotAvailableException.class, () -> itemService.createComment(booker.getId(), item.getId(),
+                ItemTestData.createNewCommentDto()));
+        assertNotNull(itemService.createComment(booker.getId(), otherItem.getId(),
+                ItemTestData.createNewCommentDto()));
+    }
+
+    @Test
+    void shouldHideItemsOfDeletedOwnerUntilPurge() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        UserDto otherBooker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        BookingDto completedBooking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, true));
+        bookingService.changeBookingStatus(owner.getId(), completedBooking.getId(), true);
+
+        assertEquals(1, itemService.search(item.getName()).size());
+
+        // пользователь помечен удалённым, UserPurgeJob его данные ещё не удалил
+        userService.deleteById(owner.getId());
+
+        assertTrue(itemService.search(item.getName()).isEmpty());
+        assertThrows(NotAvailableException.class, () -> bookingService.createBooking(otherBooker.getId(),
+                BookingTestData.createNewBookingDto(item, false)));
+        assertThrows(NotAvailableException.class, () -> itemService.createComment(booker.getId(), item.getId(),
+                ItemTestData.createNewCommentDto()));
+    }
+
+    @Test
+    void shouldRefreshItemViewAfterChanges() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+
+        ItemDetailedDto view = itemService.findById(owner.getId(), item.getId());
+        assertNull(view.getNextBooking());
+
+        UpdateItemDto update = ItemTestData.createUpdateItemDto();
+        update.setAvailable(true);
+        itemService.update(owner.getId(), item.getId(), update);
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, false));
+
+        view = itemService.findById(owner.getId(), item.getId());
+
+        assertEquals(update.getName(), view.getName());
+        assertNotNull(view.getNextBooking());
+        assertEquals(booking.getId(), view.getNextBooking().getId());
+        assertNull(itemService.findById(booker.getId(), item.getId()).getNextBooking());
+    }
+
+    @Test
+    void shouldChangeEntityTagWhenItemViewChanges() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+
+        String ownerTag = findEntityTag(owner.getId(), item.getId());
+        String bookerTag = findEntityTag(booker.getId(), item.getId());
+        assertEquals(ownerTag, findEntityTag(owner.getId(), item.getId()));
+        assertNotEquals(ownerTag, bookerTag);
+
+        // аренды видны только владельцу
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, true));
+        bookingService.changeBookingStatus(owner.getId(), booking.getId(), true);
+        assertNotEquals(ownerTag, findEntityTag(owner.getId(), item.getId()));
+        assertEquals(bookerTag, findEntityTag(booker.getId(), item.getId()));
+
+        itemService.createComment(booker.getId(), item.getId(), ItemTestData.createNewCommentDto());
+        String commentedTag = findEntityTag(booker.getId(), item.getId());
+        assertNotEquals(bookerTag, commentedTag);
+
+        itemService.update(owner.getId(), item.getId(), ItemTestData.createUpdateItemDto());
+        assertNotEquals(commentedTag, findEntityTag(booker.getId(), item.getId()));
+        assertThrows(NotFoundException.class, () -> itemService.findTaggedById(owner.getId(), item.getId() + 1));
+    }
+
+    @Test
+    void shouldKeepEntityTagWithCachedItemView() {
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        UserDto booker = userService.createUser(UserTestData.createNewUserDto());
+        ItemDto item = itemService.createItem(owner.getId(), ItemTestData.createNewItemDto());
+        BookingDto booking = bookingService.createBooking(booker.getId(),
+                BookingTestData.createNewBookingDto(item, true));
+        bookingService.changeBookingStatus(owner.getId(), booking.getId(), true);
+        itemService.createComment(booker.getId(), item.getId(), ItemTestData.createNewCommentDto());
+
+        Tagged<ItemDetailedDto> cached = itemService.findTaggedById(booker.getId(), item.getId());
+
+        // смена имени автора не сбрасывает карточку: до истечения ttl старое имя отдаётся с прежним ETag
+        UpdateUserDto rename = new UpdateUserDto();
+        rename.setName("new name");
+        userService.update(booker.getId(), rename);
+
+        assertEquals(cached, itemService.findTaggedById(booker.getId(), item.getId()));
+
+        // пересобранная карточка получает новый ETag вместе с новым именем
+        itemService.update(owner.getId(), item.getId(), ItemTestData.createUpdateItemDto());
+        Tagged<ItemDetailedDto> rebuilt = itemService.findTaggedById(booker.getId(), item.getId());
+
+        assertNotEquals(cached.entityTag(), rebuilt.entityTag());
+        assertEquals("new name", rebuilt.body().getComments().getFirst().getAuthorName());
+    }
+
+    private String findEntityTag(int userId, int itemId) {
+        return itemService.findTaggedById(userId, itemId).entityTag();
+    }
+}
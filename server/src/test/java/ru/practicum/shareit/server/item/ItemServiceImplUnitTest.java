@@ -7,31 +7,38 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.booking.BookingRepository;
 import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
 import ru.practicum.shareit.server.exception.NoAccessException;
 import ru.practicum.shareit.server.exception.NotAvailableException;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
+import ru.practicum.shareit.server.item.mapper.ItemMapper;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.model.ItemVersions;
+import ru.practicum.shareit.server.item.model.ItemView;
 import ru.practicum.shareit.server.user.UserRepository;
 import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.utils.BookingTestData;
 import ru.practicum.shareit.server.utils.ItemTestData;
 import ru.practicum.shareit.server.utils.UserTestData;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -46,6 +53,8 @@ class ItemServiceImplUnitTest {
     private BookingRepository bookingRepository;
     @MockBean
     private CommentRepository commentRepository;
+    @MockBean
+    private ItemViewCache itemViewCache;
 
     private final Random random = new Random();
 
@@ -103,11 +112,13 @@ class ItemServiceImplUnitTest {
         List<Comment> comments = List.of(comment);
 
         // мокируем вызовы методов репозитория
+        when(itemRepository.findVersionsById(anyInt(), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(createVersions(item)));
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
         when(bookingRepository.findByItemIdOrderByStart(anyInt()))
                 .thenReturn(bookings);
-        when(commentRepository.findByItemId(anyInt()))
+        when(commentRepository.findByItemIdOrderByCreatedDescIdDesc(anyInt(), any(Limit.class)))
                 .thenReturn(comments);
 
         ItemDetailedDto result;
@@ -134,6 +145,28 @@ class ItemServiceImplUnitTest {
         }
     }
 
+    @Test
+    void shouldFindItemByIdFromCachedView() {
+        Item item = ItemTestData.createItem(UserTestData.createUser());
+        Booking pastBooking = BookingTestData.createBooking(item, UserTestData.createUser(), true);
+        ItemView view = new ItemView(ItemMapper.toItemDetailedDto(item, pastBooking, null, List.of()),
+                createVersions(item));
+
+        when(itemViewCache.find(item.getId()))
+                .thenReturn(Optional.of(view));
+
+        Tagged<ItemDetailedDto> ownerResult = itemService.findTaggedById(item.getOwner().getId(), item.getId());
+        Tagged<ItemDetailedDto> otherResult = itemService.findTaggedById(999, item.getId());
+
+        assertEquals(view.item(), ownerResult.body());
+        assertNotNull(ownerResult.body().getLastBooking());
+        assertNull(otherResult.body().getLastBooking());
+        // ETag берётся из закешированной карточки
+        assertEquals(view.entityTag(item.getOwner().getId()), ownerResult.entityTag());
+        assertEquals(view.entityTag(999), otherResult.entityTag());
+        verifyNoInteractions(itemRepository, bookingRepository, commentRepository);
+    }
+
     @Test
     void shouldNotFindUnknownItemById() {
         when(itemRepository.findById(anyInt()))
@@ -142,6 +175,10 @@ class ItemServiceImplUnitTest {
         assertThrows(NotFoundException.class, () -> itemService.findById(1, 1));
     }
 
+    private static ItemVersions createVersions(Item item) {
+        return new ItemVersions(item.getOwner().getId(), 0L, 0L, 0, 0L, 0L, 0, 0L, 0L);
+    }
+
     @Test
     void shouldFindItemsByUserId() {
         User owner = UserTestData.createUser();
@@ -158,7 +195,7 @@ class ItemServiceImplUnitTest {
                 .thenReturn(Optional.of(owner));
         when(itemRepository.findByOwnerId(anyInt()))
                 .thenReturn(items);
-        when(commentRepository.findByItemIdIn(anyList()))
+        when(commentRepository.findLatestByItemIdIn(anyList(), anyInt()))
                 .thenReturn(comments);
         when(bookingRepository.findByItemIdInOrderByStart(anyList()))
                 .thenReturn(bookings);
@@ -198,6 +235,56 @@ class ItemServiceImplUnitTest {
         assertNull(dto2.getComments());
     }
 
+    @Test
+    void shouldNotQueryCommentsIfUserHasNoItems() {
+        when(userRepository.findById(anyInt()))
+                .thenReturn(Optional.of(UserTestData.createUser()));
+        when(itemRepository.findByOwnerId(anyInt()))
+                .thenReturn(List.of());
+
+        assertTrue(itemService.findByUserId(1).isEmpty());
+        verifyNoInteractions(commentRepository, bookingRepository);
+    }
+
+    @Test
+    void shouldFindFirstPageOfComments() {
+        Item item = ItemTestData.createItem(UserTestData.createUser());
+        Comment comment = ItemTestData.createComment(item, UserTestData.createUser());
+
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(commentRepository.findByItemIdOrderByCreatedDescIdDesc(item.getId(), Limit.of(20)))
+                .thenReturn(List.of(comment));
+
+        List<CommentDto> result = itemService.findComments(item.getId(), null, null, 20);
+
+        assertEquals(1, result.size());
+        assertEquals(comment.getId(), result.getFirst().getId());
+    }
+
+    @Test
+    void shouldFindCommentsAfterCursor() {
+        Item item = ItemTestData.createItem(UserTestData.createUser());
+        LocalDateTime before = LocalDateTime.now();
+
+        when(itemRepository.existsById(item.getId()))
+                .thenReturn(true);
+        when(commentRepository.findByItemIdBefore(item.getId(), before, 5, Limit.of(10)))
+                .thenReturn(List.of());
+
+        assertTrue(itemService.findComments(item.getId(), before, 5, 10).isEmpty());
+        verify(commentRepository, never()).findByItemIdOrderByCreatedDescIdDesc(anyInt(), any(Limit.class));
+    }
+
+    @Test
+    void shouldNotFindCommentsOfUnknownItem() {
+        when(itemRepository.existsById(anyInt()))
+                .thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemService.findComments(1, null, null, 20));
+        verifyNoInteractions(commentRepository);
+    }
+
     @Test
     void shouldNotFindItemsOfUnknownUser() {
         when(userRepository.findById(anyInt()))
@@ -295,8 +382,6 @@ class ItemServiceImplUnitTest {
         User author = UserTestData.createUser();
         Item item = ItemTestData.createItem(UserTestData.createUser());
 
-        Booking pastBooking = BookingTestData.createBooking(item, author, true);
-
         Comment savedComment = ItemTestData.createComment(item, author);
         savedComment.setText(commentDto.getText());
 
@@ -304,8 +389,9 @@ class ItemServiceImplUnitTest {
                 .thenReturn(Optional.of(author));
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(anyInt(), any()))
-                .thenReturn(List.of(pastBooking));
+        when(bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(eq(author.getId()), eq(item.getId()),
+                any(LocalDateTime.class), eq(BookingStatus.APPROVED)))
+                .thenReturn(true);
         when(commentRepository.save(any(Comment.class)))
                 .thenReturn(savedComment);
 
@@ -328,8 +414,9 @@ class ItemServiceImplUnitTest {
                 .thenReturn(Optional.of(author));
         when(itemRepository.findById(anyInt()))
                 .thenReturn(Optional.of(item));
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(anyInt(), any()))
-                .thenReturn(Collections.emptyList());
+        when(bookingRepository.existsByBookerIdAndItemIdAndEndBeforeAndStatus(anyInt(), anyInt(),
+                any(LocalDateTime.class), any(BookingStatus.class)))
+                .thenReturn(false);
 
         assertThrows(NotAvailableException.class,
                 () -> itemService.createComment(author.getId(), item.getId(), commentDto));
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.server.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ru.practicum.shareit.server.booking.model.BookingBoundaryEvent;
+import ru.practicum.shareit.server.booking.model.BookingChangedEvent;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.server.cluster.model.RemoteChangeEvent;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+import ru.practicum.shareit.server.item.model.ItemVersions;
+import ru.practicum.shareit.server.item.model.ItemView;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemViewCacheTest {
+    private static final int ITEM_ID = 1;
+
+    private ItemViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemViewCache(2, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldReturnViewUntilBoundary() {
+        ItemView view = createView(ITEM_ID);
+
+        cache.put(ITEM_ID, view, LocalDateTime.now().plusHours(1), cache.generation(ITEM_ID));
+
+        assertEquals(view, cache.find(ITEM_ID).orElseThrow());
+    }
+
+    @Test
+    void shouldNotReturnViewAfterBoundary() {
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.now().minusSeconds(1), cache.generation(ITEM_ID));
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void shouldEvictViewOnItemAndBookingChanges() {
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.MAX, cache.generation(ITEM_ID));
+        cache.onItemChanged(new ItemChangedEvent(ITEM_ID));
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.MAX, cache.generation(ITEM_ID));
+        cache.onBookingChanged(new BookingChangedEvent(1, ITEM_ID, 1, 2, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), null, BookingStatus.WAITING));
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void shouldEvictViewOnBookingBoundary() {
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.MAX, cache.generation(ITEM_ID));
+        cache.onBookingBoundary(new BookingBoundaryEvent(1, ITEM_ID, 1, BookingBoundaryEvent.Type.END,
+                LocalDateTime.now()));
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void shouldEvictViewOnBookingDeletion() {
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.MAX, cache.generation(ITEM_ID));
+        cache.onBookingDeleted(new BookingDeletedEvent(1, ITEM_ID, 1));
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void shouldEvictViewOnChangeOfOtherInstance() {
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.MAX, cache.generation(ITEM_ID));
+        cache.onRemoteChange(new RemoteChangeEvent(ITEM_ID, null, null));
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void shouldNotStoreViewBuiltBeforeConcurrentChange() {
+        long generation = cache.generation(ITEM_ID);
+
+        // изменение зафиксировано, пока карточка собиралась по старым данным
+        cache.onItemChanged(new ItemChangedEvent(ITEM_ID));
+        cache.put(ITEM_ID, createView(ITEM_ID), LocalDateTime.MAX, generation);
+
+        assertTrue(cache.find(ITEM_ID).isEmpty());
+    }
+
+    @Test
+    void shouldNotGrowBeyondMaxSize() {
+        for (int itemId = 1; itemId <= 5; itemId++) {
+            cache.put(itemId, createView(itemId), LocalDateTime.MAX, cache.generation(itemId));
+        }
+
+        long cached = 0;
+
+        for (int itemId = 1; itemId <= 5; itemId++) {
+            cached += cache.find(itemId).isPresent() ? 1 : 0;
+        }
+
+        assertTrue(cached <= 2);
+    }
+
+    private static ItemView createView(int itemId) {
+        ItemDetailedDto item = new ItemDetailedDto();
+
+        item.setId(itemId);
+        item.setOwnerId(1);
+        item.setName("item");
+
+        return new ItemView(item, new ItemVersions(1, 0L, 0L, 0, 0L, 0L, 0, 0L, 0L));
+    }
+}
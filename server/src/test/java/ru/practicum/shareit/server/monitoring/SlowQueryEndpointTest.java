@@ -0,0 +1,95 @@
+package ru.practicum.shareit.server.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.server.user.UserRepository;
+import ru.practicum.shareit.server.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "shareit.slow-query.threshold=0ms")
+@Sql(scripts = {"/schema.sql", "/clear.sql"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SlowQueryEndpointTest {
+    private final UserRepository userRepository;
+    private final SlowQueryEndpoint slowQueryEndpoint;
+    private final MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryEndpoint.reset();
+    }
+
+    @Test
+    void shouldRecordRepositoryCallsAboveThreshold() {
+        User user = new User();
+        user.setName("name");
+        user.setEmail("slow@mail.ru");
+        userRepository.save(user);
+
+        userRepository.findAll();
+
+        List<SlowQueryDto> slowQueries = slowQueryEndpoint.slowQueries();
+        SlowQueryDto findAll = slowQueries.stream()
+                .filter(query -> query.getRepositoryMethod().equals("UserRepository.findAll"))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, findAll.getSlowCalls());
+        assertTrue(findAll.getLastRows() >= 1);
+        assertFalse(findAll.getStatements().isEmpty());
+        assertTrue(findAll.getStatements().getFirst().toLowerCase().startsWith("select"));
+        // EXPLAIN ANALYZE снимается только в PostgreSQL
+        assertNull(findAll.getPlan());
+    }
+
+    @Test
+    void shouldNotCountScalarResultAsRows() {
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setName("name");
+            user.setEmail("slow" + i + "@mail.ru");
+            userRepository.save(user);
+        }
+
+        assertEquals(3, userRepository.count());
+
+        SlowQueryDto count = slowQueryEndpoint.slowQueries().stream()
+                .filter(query -> query.getRepositoryMethod().equals("UserRepository.count"))
+                .findFirst()
+                .orElseThrow();
+
+        assertNull(count.getLastRows());
+        assertNull(meterRegistry.find("shareit.repository.rows")
+                .tag("method", "UserRepository.count")
+                .summary());
+    }
+
+    @Test
+    void shouldPublishRepositoryTimer() {
+        userRepository.findAll();
+
+        assertTrue(meterRegistry.get("shareit.repository")
+                .tag("method", "UserRepository.findAll")
+                .timer()
+                .count() > 0);
+    }
+
+    @Test
+    void shouldResetCollectedQueries() {
+        userRepository.findAll();
+
+        slowQueryEndpoint.reset();
+
+        assertTrue(slowQueryEndpoint.slowQueries().isEmpty());
+    }
+}
@@ -9,10 +9,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import ru.practicum.shareit.server.Tagged;
 import ru.practicum.shareit.server.exception.ExceptionConstants;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.request.dto.ItemRequestDto;
-import ru.practicum.shareit.server.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.server.utils.ItemRequestTestData;
 
 import java.time.LocalDateTime;
@@ -79,8 +80,8 @@ class ItemRequestControllerTest {
     void shouldGetItemRequestById() throws Exception {
         ItemRequestDto dto = ItemRequestTestData.createItemRequestDto();
 
-        when(requestService.findById(anyInt()))
-                .thenReturn(dto);
+        when(requestService.findTaggedById(anyInt()))
+                .thenReturn(new Tagged<>("requests-0-0-0-0", dto));
 
         mockMvc.perform(get("/requests/" + dto.getId())
                         .contentType(MediaType.APPLICATION_JSON)
@@ -94,7 +95,7 @@ class ItemRequestControllerTest {
 
     @Test
     void shouldNotGetUnknownItemRequest() throws Exception {
-        when(requestService.findById(anyInt()))
+        when(requestService.findTaggedById(anyInt()))
                 .thenThrow(new NotFoundException("Запрос с id = " + 999 + " не найден"));
 
         mockMvc.perform(get("/requests/" + 999)
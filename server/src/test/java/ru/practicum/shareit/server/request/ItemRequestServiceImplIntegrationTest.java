@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.request;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +13,13 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.ItemService;
 import ru.practicum.shareit.server.item.ItemServiceImpl;
-import ru.practicum.shareit.server.request.dto.ItemRequestDto;
-import ru.practicum.shareit.server.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.server.item.ItemViewCache;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.server.user.UserService;
+import ru.practicum.shareit.server.user.EmailBloomFilter;
 import ru.practicum.shareit.server.user.UserServiceImpl;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.utils.ItemRequestTestData;
 import ru.practicum.shareit.server.utils.ItemTestData;
 import ru.practicum.shareit.server.utils.UserTestData;
@@ -28,7 +31,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 @Transactional
 @DataJpaTest
-@Import(value = {ItemServiceImpl.class, UserServiceImpl.class, ItemRequestServiceImpl.class})
+@Import(value = {ItemServiceImpl.class, UserServiceImpl.class, EmailBloomFilter.class, ItemRequestServiceImpl.class,
+        ItemViewCache.class, SimpleMeterRegistry.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = {"/schema.sql", "/clear.sql"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -110,4 +114,23 @@ class ItemRequestServiceImplIntegrationTest {
             assertEquals(1, request.getItems().size());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldChangeEntityTagWhenItemAdded() {
+        UserDto requestor = userService.createUser(UserTestData.createNewUserDto());
+        UserDto owner = userService.createUser(UserTestData.createNewUserDto());
+        ItemRequestShortDto request = requestService.createRequest(requestor.getId(),
+                ItemRequestTestData.createNewItemRequest());
+
+        String tag = requestService.findEntityTag(request.getId()).orElseThrow();
+        assertEquals(tag, requestService.findEntityTag(request.getId()).orElseThrow());
+
+        itemService.createItem(owner.getId(), ItemTestData.createNewItemDto(request.getId()));
+
+        assertNotEquals(tag, requestService.findEntityTag(request.getId()).orElseThrow());
+        // ETag ответа считается по загруженным предметам и совпадает со сводкой версий
+        assertEquals(requestService.findEntityTag(request.getId()).orElseThrow(),
+                requestService.findTaggedById(request.getId()).entityTag());
+        assertTrue(requestService.findEntityTag(request.getId() + 1).isEmpty());
+    }
+}
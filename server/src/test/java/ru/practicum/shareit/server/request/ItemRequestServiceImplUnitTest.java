@@ -8,8 +8,8 @@ import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.server.exception.NotFoundException;
 import ru.practicum.shareit.server.item.ItemRepository;
 import ru.practicum.shareit.server.item.model.Item;
-import ru.practicum.shareit.server.request.dto.ItemRequestDto;
-import ru.practicum.shareit.server.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestDto;
+import ru.practicum.shareit.api.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.server.request.model.ItemRequest;
 import ru.practicum.shareit.server.user.UserRepository;
 import ru.practicum.shareit.server.user.model.User;
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.server.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+    private HashedTimingWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel("test-timers", Duration.ofMillis(10), 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void shouldFireAfterDelay() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        Timeout timeout = wheel.schedule(fired::countDown, Duration.ofMillis(100));
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(timeout.isExpired());
+    }
+
+    @Test
+    void shouldFireTimersLongerThanOneRevolution() throws InterruptedException {
+        // один оборот колеса — 8 тиков по 10 мс
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        wheel.schedule(fired::countDown, Duration.ofMillis(250));
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void shouldFireInDeadlineOrder() throws InterruptedException {
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch fired = new CountDownLatch(3);
+
+        wheel.schedule(() -> { order.add(3); fired.countDown(); }, Duration.ofMillis(150));
+        wheel.schedule(() -> { order.add(1); fired.countDown(); }, Duration.ofMillis(10));
+        wheel.schedule(() -> { order.add(2); fired.countDown(); }, Duration.ofMillis(80));
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2, 3), order);
+    }
+
+    @Test
+    void shouldNotFireCancelledTimer() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch control = new CountDownLatch(1);
+
+        Timeout timeout = wheel.schedule(fired::incrementAndGet, Duration.ofMillis(50));
+        wheel.schedule(control::countDown, Duration.ofMillis(100));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertTrue(control.await(5, TimeUnit.SECONDS));
+        assertEquals(0, fired.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+    @Test
+    void shouldKeepFiringAfterFailedTask() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+
+        wheel.schedule(() -> {
+            throw new IllegalStateException("test");
+        }, Duration.ZERO);
+        wheel.schedule(fired::countDown, Duration.ofMillis(30));
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldTrackActiveTimers() throws InterruptedException {
+        List<Timeout> timeouts = new ArrayList<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            timeouts.add(wheel.schedule(() -> { }, Duration.ofHours(1)));
+        }
+
+        assertEquals(100_000, wheel.size());
+
+        timeouts.forEach(Timeout::cancel);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (wheel.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.server.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailBloomFilterTest {
+    private static final int INSERTIONS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+    private EmailBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new EmailBloomFilter(userRepository, INSERTIONS, FALSE_POSITIVE_RATE, meterRegistry);
+    }
+
+    @Test
+    void shouldContainAddedEmailIgnoringCase() {
+        filter.put("User@Mail.ru");
+
+        assertTrue(filter.mightContain("user@mail.ru"));
+        assertTrue(filter.mightContain("USER@MAIL.RU"));
+        assertFalse(filter.mightContain("other@mail.ru"));
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put("user" + i + "@mail.ru");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertTrue(filter.mightContain("user" + i + "@mail.ru"));
+
+            if (filter.mightContain("absent" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+
+        // с запасом на разброс: ожидается около 1%
+        assertTrue(falsePositives < INSERTIONS * FALSE_POSITIVE_RATE * 2, "falsePositives = " + falsePositives);
+        assertTrue(meterRegistry.get("shareit.user.email.filter.fpp").gauge().value() < FALSE_POSITIVE_RATE * 2);
+    }
+
+    @Test
+    void shouldRebuildFromRepository() {
+        filter.put("deleted@mail.ru");
+
+        when(userRepository.streamAllEmails())
+                .thenReturn(Stream.of("first@mail.ru", "second@mail.ru"));
+
+        filter.rebuild();
+
+        assertTrue(filter.mightContain("first@mail.ru"));
+        assertTrue(filter.mightContain("second@mail.ru"));
+        assertFalse(filter.mightContain("deleted@mail.ru"));
+    }
+
+    @Test
+    void shouldPublishMetrics() {
+        filter.put("user@mail.ru");
+        filter.mightContain("user@mail.ru");
+        filter.mightContain("other@mail.ru");
+        filter.recordFalsePositive();
+
+        assertEquals(1, meterRegistry.get("shareit.user.email.filter").tag("result", "maybe").counter().count());
+        assertEquals(1, meterRegistry.get("shareit.user.email.filter").tag("result", "absent").counter().count());
+        assertEquals(1, meterRegistry.get("shareit.user.email.filter").tag("result", "false_positive")
+                .counter().count());
+        // ~9,6 бита на элемент при 1% ложных срабатываний
+        assertEquals(12_000, meterRegistry.get("shareit.user.email.filter.bytes").gauge().value(), 100);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmailBloomFilter(userRepository, 0, FALSE_POSITIVE_RATE, meterRegistry));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmailBloomFilter(userRepository, INSERTIONS, 1, meterRegistry));
+    }
+}
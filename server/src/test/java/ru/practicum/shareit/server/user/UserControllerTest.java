@@ -1,32 +1,45 @@
 package ru.practicum.shareit.server.user;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import ru.practicum.shareit.server.Tagged;
+import ru.practicum.shareit.server.config.WireFormatConfig;
 import ru.practicum.shareit.server.exception.EmailConflictException;
 import ru.practicum.shareit.server.exception.ExceptionConstants;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.utils.UserTestData;
 
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles("test")
 @WebMvcTest(controllers = UserController.class)
+@Import(WireFormatConfig.class)
 class UserControllerTest {
     @Autowired
     private MockMvc mockMvc;
@@ -67,8 +80,8 @@ class UserControllerTest {
     void shouldGetUserById() throws Exception {
         UserDto savedUser = UserTestData.createUserDto(UserTestData.createNewUserDto());
 
-        when(userService.findById(anyInt()))
-                .thenReturn(savedUser);
+        when(userService.findTaggedById(anyInt()))
+                .thenReturn(new Tagged<>("users-0", savedUser));
 
         mockMvc.perform(get("/users/" + savedUser.getId())
                         .contentType(MediaType.APPLICATION_JSON))
@@ -78,9 +91,57 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value(savedUser.getEmail()));
     }
 
+    @Test
+    void shouldGetUserByIdAsCbor() throws Exception {
+        UserDto savedUser = UserTestData.createUserDto(UserTestData.createNewUserDto());
+
+        when(userService.findTaggedById(anyInt()))
+                .thenReturn(new Tagged<>("users-0", savedUser));
+
+        byte[] body = mockMvc.perform(get("/users/" + savedUser.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(savedUser, new CBORMapper().readValue(body, UserDto.class));
+    }
+
+    @Test
+    void shouldGetUserByIdAsJsonByDefault() throws Exception {
+        when(userService.findTaggedById(anyInt()))
+                .thenReturn(new Tagged<>("users-0", UserTestData.createUserDto(UserTestData.createNewUserDto())));
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForCurrentEntityTag() throws Exception {
+        UserDto savedUser = UserTestData.createUserDto(UserTestData.createNewUserDto());
+
+        when(userService.findEntityTag(savedUser.getId()))
+                .thenReturn(Optional.of("users-1"));
+        when(userService.findTaggedById(anyInt()))
+                .thenReturn(new Tagged<>("users-1", savedUser));
+
+        mockMvc.perform(get("/users/" + savedUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"users-1\""));
+        mockMvc.perform(get("/users/" + savedUser.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"users-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"users-1\""));
+
+        // без If-None-Match версия отдельно не читается, на совпавший If-None-Match строка не загружается
+        verify(userService, Mockito.times(1)).findEntityTag(savedUser.getId());
+        verify(userService, Mockito.times(1)).findTaggedById(savedUser.getId());
+    }
+
     @Test
     void shouldNotGetUnknownUserById() throws Exception {
-        when(userService.findById(anyInt()))
+        when(userService.findTaggedById(anyInt()))
                 .thenThrow(new NotFoundException(String.format(ExceptionConstants.USER_NOT_FOUND_BY_ID, 999)));
 
         mockMvc.perform(get("/users/" + 999)
@@ -141,4 +202,16 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(UserTestData.createUpdateUserDto())))
                 .andExpect(status().isConflict());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldNotUpdateUserChangedConcurrently() throws Exception {
+        when(userService.update(anyInt(), any(UpdateUserDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 999));
+
+        mockMvc.perform(patch("/users/" + 999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(UserTestData.createUpdateUserDto())))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(ExceptionConstants.CONCURRENT_MODIFICATION));
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.server.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import ru.practicum.shareit.server.booking.BookingRepository;
+import ru.practicum.shareit.server.booking.model.Booking;
+import ru.practicum.shareit.server.booking.model.BookingDeletedEvent;
+import ru.practicum.shareit.server.item.CommentRepository;
+import ru.practicum.shareit.server.item.ItemRepository;
+import ru.practicum.shareit.server.item.model.Item;
+import ru.practicum.shareit.server.item.model.ItemChangedEvent;
+import ru.practicum.shareit.server.request.ItemRequestRepository;
+import ru.practicum.shareit.server.user.dto.UserPurgeDto;
+import ru.practicum.shareit.server.user.model.User;
+import ru.practicum.shareit.server.utils.BookingTestData;
+import ru.practicum.shareit.server.utils.ItemRequestTestData;
+import ru.practicum.shareit.server.utils.ItemTestData;
+import ru.practicum.shareit.server.utils.UserTestData;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Без общей транзакции теста: очистка работает пакетами в собственных транзакциях
+@ActiveProfiles("test")
+@DataJpaTest(properties = "shareit.user-purge.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(value = {UserPurgeJob.class, SimpleMeterRegistry.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"/schema.sql", "/clear.sql"})
+@RecordApplicationEvents
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserPurgeJobTest {
+    private final UserPurgeJob userPurgeJob;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void shouldPurgeDeletedUserInBatches() {
+        User deleted = userRepository.save(UserTestData.createNewUser());
+        User other = userRepository.save(UserTestData.createNewUser());
+
+        // три предмета удаляемого пользователя с бронированиями и отзывами другого пользователя
+        for (int i = 0; i < 3; i++) {
+            Item item = itemRepository.save(ItemTestData.createNewItem(deleted));
+            bookingRepository.save(BookingTestData.createNewBooking(item, other));
+            commentRepository.save(ItemTestData.createNewComment(item, other));
+        }
+
+        // бронирование и отзыв удаляемого пользователя на чужой предмет, его запрос
+        Item otherItem = itemRepository.save(ItemTestData.createNewItem(other));
+        Booking booking = bookingRepository.save(BookingTestData.createNewBooking(otherItem, deleted));
+        commentRepository.save(ItemTestData.createNewComment(otherItem, deleted));
+        itemRequestRepository.save(ItemRequestTestData.createNewRequest(deleted));
+
+        softDelete(deleted);
+        userPurgeJob.purgeDeleted();
+
+        assertTrue(itemRepository.findByOwnerId(deleted.getId()).isEmpty());
+        assertEquals(1, itemRepository.count());
+        assertEquals(0, bookingRepository.count());
+        assertEquals(0, commentRepository.count());
+        assertEquals(0, itemRequestRepository.count());
+        assertEquals(List.of(other.getId()), userRepository.findAll().stream().map(User::getId).toList());
+
+        UserPurgeDto progress = userPurgeJob.findProgress().getFirst();
+
+        assertEquals(deleted.getId(), progress.getUserId());
+        assertEquals("DONE", progress.getStatus());
+        assertEquals(4, progress.getDeletedRows().get("comments"));
+        assertEquals(4, progress.getDeletedRows().get("bookings"));
+        assertEquals(3, progress.getDeletedRows().get("items"));
+        assertEquals(1, progress.getDeletedRows().get("requests"));
+        assertEquals(1, progress.getDeletedRows().get("users"));
+
+        // кеши и таймеры узнают об удалённых бронированиях и изменённых предметах
+        assertTrue(events.stream(BookingDeletedEvent.class)
+                .anyMatch(event -> event.bookingId().equals(booking.getId())
+                        && event.ownerId().equals(other.getId())));
+        assertTrue(events.stream(ItemChangedEvent.class)
+                .anyMatch(event -> event.itemId().equals(otherItem.getId())));
+    }
+
+    @Test
+    void shouldNotTouchActiveUsers() {
+        User active = userRepository.save(UserTestData.createNewUser());
+        itemRepository.save(ItemTestData.createNewItem(active));
+
+        userPurgeJob.purgeDeleted();
+
+        assertTrue(userRepository.findById(active.getId()).isPresent());
+        assertEquals(1, itemRepository.findByOwnerId(active.getId()).size());
+    }
+
+    @Test
+    void shouldHideSoftDeletedUser() {
+        User deleted = userRepository.save(UserTestData.createNewUser());
+
+        softDelete(deleted);
+
+        assertTrue(userRepository.findById(deleted.getId()).isEmpty());
+        assertFalse(userRepository.existsByEmailIgnoringCase(deleted.getEmail()));
+    }
+
+    private void softDelete(User user) {
+        // @Modifying-запросу нужна транзакция, а у теста её нет
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> userRepository.softDeleteById(user.getId(), LocalDateTime.now()));
+    }
+}
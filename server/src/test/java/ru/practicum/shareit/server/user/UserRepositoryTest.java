@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
@@ -12,6 +13,8 @@ import ru.practicum.shareit.server.user.model.User;
 import ru.practicum.shareit.server.utils.UserTestData;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -104,5 +107,43 @@ class UserRepositoryTest {
         assertEquals(user.getName(), foundUser.getName());
         assertEquals(user.getEmail(), foundUser.getEmail());
     }
-}
 
+    @Test
+    void shouldRejectStaleUpdate() {
+        User user = userRepository.saveAndFlush(UserTestData.createNewUser());
+        User stale = new User();
+        stale.setId(user.getId());
+        stale.setName(user.getName());
+        stale.setEmail(user.getEmail());
+        stale.setVersion(user.getVersion());
+
+        user.setName("new name");
+        userRepository.saveAndFlush(user);
+
+        assertEquals(stale.getVersion() + 1, userRepository.findVersionById(user.getId()).orElseThrow());
+        stale.setName("other name");
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> userRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    void shouldCheckEmailIgnoringCase() {
+        User user = userRepository.save(UserTestData.createNewUser());
+        User other = userRepository.save(UserTestData.createNewUser());
+        String email = user.getEmail().toUpperCase();
+
+        assertTrue(userRepository.existsByEmailIgnoringCase(email));
+        assertTrue(userRepository.existsByEmailIgnoringCaseAndIdNot(email, other.getId()));
+        assertFalse(userRepository.existsByEmailIgnoringCaseAndIdNot(email, user.getId()));
+        assertFalse(userRepository.existsByEmailIgnoringCase("unknown" + email));
+    }
+
+    @Test
+    void shouldStreamAllEmails() {
+        User user1 = userRepository.save(UserTestData.createNewUser());
+        User user2 = userRepository.save(UserTestData.createNewUser());
+
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            assertEquals(Set.of(user1.getEmail(), user2.getEmail()), Set.copyOf(emails.toList()));
+        }
+    }
+}
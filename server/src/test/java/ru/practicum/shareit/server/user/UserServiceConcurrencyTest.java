@@ -0,0 +1,70 @@
+package ru.practicum.shareit.server.user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import ru.practicum.shareit.server.exception.EmailConflictException;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
+import ru.practicum.shareit.server.utils.UserTestData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Без @Transactional: каждая регистрация выполняется в собственной транзакции, как при реальных запросах
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserServiceConcurrencyTest {
+    private static final int THREADS = 8;
+
+    private final UserService userService;
+
+    @Test
+    void shouldRegisterOnlyOneUserWithTheSameEmail() throws Exception {
+        String email = UserTestData.createNewUserDto().getEmail();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserDto>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // половина запросов отличается только регистром
+                NewUserDto request = UserTestData.createNewUserDto();
+                request.setEmail(i % 2 == 0 ? email : email.toUpperCase());
+
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userService.createUser(request);
+                }));
+            }
+
+            start.countDown();
+
+            List<UserDto> created = new ArrayList<>();
+            int conflicts = 0;
+
+            for (Future<UserDto> result : results) {
+                try {
+                    created.add(result.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(EmailConflictException.class, ex.getCause());
+                    conflicts++;
+                }
+            }
+
+            assertEquals(1, created.size());
+            assertEquals(THREADS - 1, conflicts);
+
+            userService.deleteById(created.getFirst().getId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
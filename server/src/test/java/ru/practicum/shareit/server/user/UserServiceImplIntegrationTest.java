@@ -1,5 +1,6 @@
 package ru.practicum.shareit.server.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,9 +12,9 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.server.exception.EmailConflictException;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.utils.UserTestData;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,7 +22,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 @Transactional
 @DataJpaTest
-@Import(UserServiceImpl.class)
+@Import(value = {UserServiceImpl.class, EmailBloomFilter.class, SimpleMeterRegistry.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Sql(scripts = {"/schema.sql", "/clear.sql"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -47,6 +48,15 @@ class UserServiceImplIntegrationTest {
         assertThrows(EmailConflictException.class, () -> userService.createUser(request));
     }
 
+    @Test
+    void shouldNotCreateUserWithAlreadyExistingEmailInOtherCase() {
+        UserDto alreadyExistingUser = userService.createUser(UserTestData.createNewUserDto());
+        NewUserDto request = UserTestData.createNewUserDto();
+        request.setEmail(alreadyExistingUser.getEmail().toUpperCase());
+
+        assertThrows(EmailConflictException.class, () -> userService.createUser(request));
+    }
+
     @Test
     void shouldFindUserById() {
         UserDto savedUser = userService.createUser(UserTestData.createNewUserDto());
@@ -85,6 +95,18 @@ class UserServiceImplIntegrationTest {
         assertEquals(request.getEmail(), updatedUser.getEmail());
     }
 
+    @Test
+    void shouldUpdateUserKeepingOwnEmail() {
+        UserDto savedUser = userService.createUser(UserTestData.createNewUserDto());
+        UpdateUserDto request = UserTestData.createUpdateUserDto();
+        request.setEmail(savedUser.getEmail());
+
+        UserDto updatedUser = userService.update(savedUser.getId(), request);
+
+        assertEquals(request.getName(), updatedUser.getName());
+        assertEquals(savedUser.getEmail(), updatedUser.getEmail());
+    }
+
     @Test
     void shouldNotUpdateUnknownUser() {
         assertThrows(NotFoundException.class,
@@ -101,4 +123,17 @@ class UserServiceImplIntegrationTest {
         assertThrows(EmailConflictException.class,
                 () -> userService.update(userToBeUpdated.getId(), request));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldChangeEntityTagAfterUpdate() {
+        UserDto savedUser = userService.createUser(UserTestData.createNewUserDto());
+
+        String tag = userService.findEntityTag(savedUser.getId()).orElseThrow();
+        userService.update(savedUser.getId(), UserTestData.createUpdateUserDto());
+
+        assertNotEquals(tag, userService.findEntityTag(savedUser.getId()).orElseThrow());
+        assertEquals(userService.findEntityTag(savedUser.getId()).orElseThrow(),
+                userService.findTaggedById(savedUser.getId()).entityTag());
+        assertTrue(userService.findEntityTag(savedUser.getId() + 1).isEmpty());
+    }
+}
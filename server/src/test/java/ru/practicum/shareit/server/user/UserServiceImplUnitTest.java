@@ -5,17 +5,19 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 import ru.practicum.shareit.server.exception.EmailConflictException;
 import ru.practicum.shareit.server.exception.NotFoundException;
-import ru.practicum.shareit.server.user.dto.UpdateUserDto;
-import ru.practicum.shareit.server.user.dto.NewUserDto;
-import ru.practicum.shareit.server.user.dto.UserDto;
+import ru.practicum.shareit.api.user.dto.UpdateUserDto;
+import ru.practicum.shareit.api.user.dto.NewUserDto;
+import ru.practicum.shareit.api.user.dto.UserDto;
 import ru.practicum.shareit.server.user.model.User;
-import ru.practicum.shareit.server.utils.RandomUtils;
 import ru.practicum.shareit.server.utils.UserTestData;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Random;
 
@@ -30,6 +32,8 @@ class UserServiceImplUnitTest {
     private UserService userService;
     @MockBean
     private UserRepository userRepository;
+    @Autowired
+    private EmailBloomFilter emailFilter;
 
     private final Random random = new Random();
 
@@ -42,9 +46,7 @@ class UserServiceImplUnitTest {
         savedUser.setName(request.getName());
         savedUser.setEmail(request.getEmail());
 
-        when(userRepository.findByEmail(anyString()))
-                .thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenReturn(savedUser);
 
         UserDto result = userService.createUser(request);
@@ -58,15 +60,49 @@ class UserServiceImplUnitTest {
     void shouldNotCreateUserWithAlreadyExistingEmail() {
         NewUserDto request = UserTestData.createNewUserDto();
 
-        User existingUser = new User();
-        existingUser.setId(random.nextInt(100));
-        existingUser.setName(RandomUtils.createName());
-        existingUser.setEmail(request.getEmail());
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(createUniqueViolation());
 
-        when(userRepository.findByEmail(anyString()))
-                .thenReturn(Optional.of(existingUser));
+        assertThrows(EmailConflictException.class, () -> userService.createUser(request));
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void shouldRejectKnownEmailWithoutInsert() {
+        NewUserDto request = UserTestData.createNewUserDto();
+        emailFilter.put(request.getEmail());
+
+        when(userRepository.existsByEmailIgnoringCase(request.getEmail()))
+                .thenReturn(true);
 
         assertThrows(EmailConflictException.class, () -> userService.createUser(request));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void shouldSkipEmailCheckForUnknownEmail() {
+        NewUserDto request = UserTestData.createNewUserDto();
+        User savedUser = UserTestData.createUser();
+
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenReturn(savedUser);
+
+        userService.createUser(request);
+
+        // фильтр пуст (репозиторий замокан), поэтому в БД не обращаемся
+        verify(userRepository, never()).existsByEmailIgnoringCase(anyString());
+        assertTrue(emailFilter.mightContain(savedUser.getEmail()));
+    }
+
+    @Test
+    void shouldNotTranslateOtherIntegrityViolations() {
+        NewUserDto request = UserTestData.createNewUserDto();
+
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("check",
+                        new SQLException("user_name_not_blank", "23514")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> userService.createUser(request));
     }
 
     @Test
@@ -93,13 +129,16 @@ class UserServiceImplUnitTest {
 
     @Test
     void shouldDeleteUserById() {
-        doNothing().when(userRepository).deleteById(anyInt());
-
         int randomInt = random.nextInt(100);
 
+        when(userRepository.softDeleteById(eq(randomInt), any(LocalDateTime.class)))
+                .thenReturn(1);
+
         userService.deleteById(randomInt);
 
-        verify(userRepository, Mockito.times(1)).deleteById(randomInt);
+        verify(userRepository, Mockito.times(1)).softDeleteById(eq(randomInt), any(LocalDateTime.class));
+        verify(userRepository, Mockito.times(1)).hideItemsByOwnerId(randomInt);
+        verify(userRepository, never()).deleteById(anyInt());
     }
 
     @Test
@@ -115,9 +154,7 @@ class UserServiceImplUnitTest {
 
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(existingUser));
-        when(userRepository.findByEmail(anyString()))
-                .thenReturn(Optional.empty());
-        when(userRepository.save(any(User.class)))
+        when(userRepository.saveAndFlush(any(User.class)))
                 .thenReturn(updatedUser);
 
         UserDto result = userService.update(existingUser.getId(), request);
@@ -127,6 +164,23 @@ class UserServiceImplUnitTest {
         assertEquals(updatedUser.getEmail(), result.getEmail());
     }
 
+    @Test
+    void shouldSkipEmailCheckWhenEmailIsUnchanged() {
+        User existingUser = UserTestData.createUser();
+        UpdateUserDto request = new UpdateUserDto();
+        request.setEmail(existingUser.getEmail().toUpperCase());
+        emailFilter.put(existingUser.getEmail());
+
+        when(userRepository.findById(anyInt()))
+                .thenReturn(Optional.of(existingUser));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenReturn(existingUser);
+
+        userService.update(existingUser.getId(), request);
+
+        verify(userRepository, never()).existsByEmailIgnoringCaseAndIdNot(anyString(), anyInt());
+    }
+
     @Test
     void shouldNotUpdateUnknownUser() {
         UpdateUserDto request = UserTestData.createUpdateUserDto();
@@ -143,16 +197,16 @@ class UserServiceImplUnitTest {
 
         User existingUser = UserTestData.createUser();
 
-        User userWithTheSameEmail = new User();
-        userWithTheSameEmail.setId(random.nextInt(100));
-        userWithTheSameEmail.setName(RandomUtils.createName());
-        userWithTheSameEmail.setEmail(request.getEmail());
-
         when(userRepository.findById(anyInt()))
                 .thenReturn(Optional.of(existingUser));
-        when(userRepository.findByEmail(anyString()))
-                .thenReturn(Optional.of(userWithTheSameEmail));
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(createUniqueViolation());
 
         assertThrows(EmailConflictException.class, () -> userService.update(existingUser.getId(), request));
     }
+
+    private static DataIntegrityViolationException createUniqueViolation() {
+        return new DataIntegrityViolationException("duplicate",
+                new SQLException("Unique index or primary key violation", "23505"));
+    }
 }
\ No newline at end of file
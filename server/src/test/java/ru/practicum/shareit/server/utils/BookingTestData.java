@@ -2,11 +2,11 @@ package ru.practicum.shareit.server.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.server.booking.dto.BookingDto;
-import ru.practicum.shareit.server.booking.dto.NewBookingDto;
+import ru.practicum.shareit.api.booking.dto.BookingDto;
+import ru.practicum.shareit.api.booking.dto.NewBookingDto;
 import ru.practicum.shareit.server.booking.model.Booking;
-import ru.practicum.shareit.server.booking.model.BookingStatus;
-import ru.practicum.shareit.server.item.dto.ItemDto;
+import ru.practicum.shareit.api.booking.model.BookingStatus;
+import ru.practicum.shareit.api.item.dto.ItemDto;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.user.model.User;
 
@@ -62,8 +62,8 @@ public final class BookingTestData {
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
 
-        booking.setStart(LocalDateTime.parse(request.getStart(), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        booking.setEnd(LocalDateTime.parse(request.getEnd(), DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        booking.setStart(request.getStart());
+        booking.setEnd(request.getEnd());
 
         return booking;
     }
@@ -74,8 +74,8 @@ public final class BookingTestData {
 
         bookingDto.setId(new Random().nextInt(100));
 
-        bookingDto.setStart(request.getStart());
-        bookingDto.setEnd(request.getEnd());
+        bookingDto.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(request.getStart()));
+        bookingDto.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(request.getEnd()));
         bookingDto.setStatus(status.name());
 
         ItemDto itemDto = ItemTestData.createItemDto(request.getItemId());
@@ -92,8 +92,8 @@ public final class BookingTestData {
 
         bookingDto.setId(new Random().nextInt(100));
 
-        bookingDto.setStart(request.getStart());
-        bookingDto.setEnd(request.getEnd());
+        bookingDto.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(request.getStart()));
+        bookingDto.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(request.getEnd()));
         bookingDto.setStatus(status.name());
 
         ItemDto itemDto = ItemTestData.createItemDto(request.getItemId());
@@ -109,8 +109,8 @@ public final class BookingTestData {
         NewBookingDto request = new NewBookingDto();
 
         request.setItemId(new Random().nextInt(100));
-        request.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().plusHours(1)));
-        request.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().plusHours(2)));
+        request.setStart(LocalDateTime.now().plusHours(1));
+        request.setEnd(LocalDateTime.now().plusHours(2));
 
         return request;
     }
@@ -119,8 +119,8 @@ public final class BookingTestData {
         NewBookingDto request = new NewBookingDto();
 
         request.setItemId(item.getId());
-        request.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().plusHours(1)));
-        request.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now().plusHours(2)));
+        request.setStart(LocalDateTime.now().plusHours(1));
+        request.setEnd(LocalDateTime.now().plusHours(2));
 
         return request;
     }
@@ -136,8 +136,8 @@ public final class BookingTestData {
                 ? now.minusHours(random.nextLong(5, 20))
                 : now.plusMinutes(random.nextLong(1, 100));
 
-        request.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start));
-        request.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start.plusHours(1)));
+        request.setStart(start);
+        request.setEnd(start.plusHours(1));
 
         return request;
     }
@@ -146,8 +146,8 @@ public final class BookingTestData {
         NewBookingDto request = new NewBookingDto();
 
         request.setItemId(itemDto.getId());
-        request.setStart(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(start));
-        request.setEnd(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(end));
+        request.setStart(start);
+        request.setEnd(end);
 
         return request;
 
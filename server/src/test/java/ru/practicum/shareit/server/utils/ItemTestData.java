@@ -2,10 +2,10 @@ package ru.practicum.shareit.server.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.server.item.dto.CommentDto;
-import ru.practicum.shareit.server.item.dto.ItemDetailedDto;
-import ru.practicum.shareit.server.item.dto.ItemDto;
-import ru.practicum.shareit.server.item.dto.UpdateItemDto;
+import ru.practicum.shareit.api.item.dto.CommentDto;
+import ru.practicum.shareit.api.item.dto.ItemDetailedDto;
+import ru.practicum.shareit.api.item.dto.ItemDto;
+import ru.practicum.shareit.api.item.dto.UpdateItemDto;
 import ru.practicum.shareit.server.item.model.Comment;
 import ru.practicum.shareit.server.item.model.Item;
 import ru.practicum.shareit.server.request.model.ItemRequest;
@@ -32,6 +32,7 @@ public final class ItemTestData {
         Item item = new Item();
 
         item.setId(new Random().nextInt(100));
+        item.setVersion(0L);
         item.setName(RandomUtils.createName());
         item.setDescription(RandomUtils.createName(50));
         item.setAvailable(true);
@@ -45,6 +46,7 @@ public final class ItemTestData {
         Item item = new Item();
 
         item.setId(new Random().nextInt(100));
+        item.setVersion(0L);
         item.setName(RandomUtils.createName());
         item.setDescription(RandomUtils.createName(50));
         item.setAvailable(true);
@@ -1,3 +1,5 @@
+DELETE FROM cache_events;
+DELETE FROM booking_events;
 DELETE FROM comments;
 DELETE FROM bookings;
 DELETE FROM items;
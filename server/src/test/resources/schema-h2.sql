@@ -0,0 +1,4 @@
+-- В H2 нет индексов по выражению, поэтому lower(email) хранится в вычисляемой колонке
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_lower VARCHAR GENERATED ALWAYS AS (LOWER(email));
+
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_lower_uidx ON users (email_lower);
@@ -0,0 +1,79 @@
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Замер холодного старта приложения: JVM запускается заново, контекст Spring поднимается и сразу закрывается
+// (spring.context.exit=onRefresh). Сравниваются обычный запуск и запуск с AppCDS-архивом и AOT.
+// Запускается профилем startup: java tools/StartupTime.java <jar> <архив> <число запусков> [аргументы JVM...]
+public class StartupTime {
+    // консоль сборки может быть не в UTF-8
+    private static final PrintStream OUT = new PrintStream(new FileOutputStream(FileDescriptor.out), true,
+            StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            OUT.println("Использование: StartupTime <jar> <архив CDS> <число запусков> [аргументы JVM...]");
+            System.exit(2);
+        }
+
+        Path jar = Path.of(args[0]);
+        Path archive = Path.of(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        List<String> jvmArgs = Arrays.asList(args).subList(3, args.length);
+
+        long baseline = median(jar, jvmArgs, List.of(), runs);
+        OUT.printf("%s: обычный запуск — %d мс (медиана из %d)%n", jar.getFileName(), baseline, runs);
+
+        if (!Files.exists(archive)) {
+            OUT.printf("%s: архив %s не найден, запуск с CDS пропущен%n", jar.getFileName(), archive);
+            return;
+        }
+
+        long optimized = median(jar, jvmArgs,
+                List.of("-XX:SharedArchiveFile=" + archive, "-Dspring.aot.enabled=true"), runs);
+        OUT.printf("%s: AppCDS + AOT — %d мс (медиана из %d), ускорение %.1f%%%n", jar.getFileName(),
+                optimized, runs, 100.0 * (baseline - optimized) / baseline);
+    }
+
+    private static long median(Path jar, List<String> jvmArgs, List<String> options, int runs) throws Exception {
+        long[] times = new long[runs];
+
+        for (int i = 0; i < runs; i++) {
+            times[i] = run(jar, jvmArgs, options);
+        }
+
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+
+    private static long run(Path jar, List<String> jvmArgs, List<String> options) throws IOException,
+            InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options);
+        command.addAll(jvmArgs);
+        command.add("-Dspring.context.exit=onRefresh");
+        command.add("-jar");
+        command.add(jar.toString());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exitCode = process.waitFor();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        if (exitCode != 0) {
+            throw new IllegalStateException("Приложение завершилось с кодом " + exitCode + ": " + command);
+        }
+        return elapsed;
+    }
+}